@@ -0,0 +1,70 @@
+package com.example.springbootexample.customer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/*
+ * Jackson serialization of a customer page as the list endpoint writes it, at the default
+ * and maximum page size. objectMapper is what the message converter does per response;
+ * objectWriter reuses a writer resolved once for the list type.
+ *
+ * Run with: mvn -Pbenchmark test -DskipTests -Djmh.includes=CustomerModelDTOJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerModelDTOJsonBenchmark {
+
+    @Param({"" + CustomerService.DEFAULT_PAGE_SIZE, "" + CustomerService.MAX_PAGE_SIZE})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter objectWriter;
+    private List<CustomerModelDTO> customers;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CustomerModelDTO.class));
+        customers = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new CustomerModelDTO(
+                        id,
+                        "Customer " + id,
+                        "customer" + id + "@gmail.com",
+                        id % 2 == 0 ? "Male" : "Female",
+                        (int) (20 + id % 50),
+                        CustomerRoles.USER.names(),
+                        "customer" + id + "@gmail.com"))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customers);
+    }
+
+    @Benchmark
+    public byte[] objectWriter() throws JsonProcessingException {
+        return objectWriter.writeValueAsBytes(customers);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerModelDTOJsonBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
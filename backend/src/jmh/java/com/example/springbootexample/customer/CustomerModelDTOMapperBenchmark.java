@@ -0,0 +1,68 @@
+package com.example.springbootexample.customer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/*
+ * Allocation per mapped row of CustomerModelDTOMapper, read from gc.alloc.rate.norm.
+ *
+ * perRowRoleLists replays the old mapping (a fresh authority list per call, streamed
+ * into a fresh ArrayList). sharedRoleLists is the current path, which should allocate
+ * only the CustomerModelDTO itself.
+ *
+ * Run with: mvn -Pbenchmark test -DskipTests -Djmh.includes=CustomerModelDTOMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerModelDTOMapperBenchmark {
+
+    private CustomerModelDTOMapper customerModelDTOMapper;
+    private CustomerModel customerModel;
+
+    @Setup
+    public void setUp() {
+        customerModelDTOMapper = new CustomerModelDTOMapper();
+        customerModel = new CustomerModel(1L, "Islam", "password", "islam.gad@gmail.com", 26, "Male");
+    }
+
+    @Benchmark
+    public CustomerModelDTO perRowRoleLists() {
+        List<? extends GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return new CustomerModelDTO(
+                customerModel.getId(),
+                customerModel.getName(),
+                customerModel.getEmail(),
+                customerModel.getGender(),
+                customerModel.getAge(),
+                authorities.stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()),
+                customerModel.getEmail()
+        );
+    }
+
+    @Benchmark
+    public CustomerModelDTO sharedRoleLists() {
+        return customerModelDTOMapper.apply(customerModel);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerModelDTOMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.springbootexample.customer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-row cost of CustomerRawMapper and CustomerDTORowMapper over a page of rows held in an
+ * in-memory CachedRowSet, so the numbers are the mapping and ResultSet getters without the driver.
+ *
+ * Run with: mvn -Pbenchmark test -DskipTests -Djmh.includes=CustomerRowMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerRowMapperBenchmark {
+
+    private static final int ROWS = 100;
+
+    private CustomerRawMapper customerRawMapper;
+    private CustomerDTORowMapper customerDTORowMapper;
+    private CachedRowSet rawRows;
+    private CachedRowSet dtoRows;
+
+    @Setup
+    public void setUp() throws SQLException {
+        customerRawMapper = new CustomerRawMapper();
+        customerDTORowMapper = new CustomerDTORowMapper();
+        rawRows = rows(CustomerRawMapper.COLUMNS);
+        dtoRows = rows(CustomerDTORowMapper.COLUMNS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rawMapRow(Blackhole blackhole) throws SQLException {
+        rawRows.beforeFirst();
+        int rowNum = 0;
+        while (rawRows.next()) {
+            blackhole.consume(customerRawMapper.mapRow(rawRows, rowNum++));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void dtoMapRow(Blackhole blackhole) throws SQLException {
+        dtoRows.beforeFirst();
+        int rowNum = 0;
+        while (dtoRows.next()) {
+            blackhole.consume(customerDTORowMapper.mapRow(dtoRows, rowNum++));
+        }
+    }
+
+    // columns in the order the mapper reads them by index
+    private static CachedRowSet rows(String columns) throws SQLException {
+        String[] names = columns.split(", ");
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(names.length);
+        for (int i = 0; i < names.length; i++) {
+            metaData.setColumnName(i + 1, names[i]);
+            metaData.setColumnType(i + 1, switch (names[i]) {
+                case "id" -> Types.BIGINT;
+                case "age" -> Types.INTEGER;
+                default -> Types.VARCHAR;
+            });
+        }
+
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(metaData);
+        for (int row = 1; row <= ROWS; row++) {
+            rowSet.moveToInsertRow();
+            for (int i = 0; i < names.length; i++) {
+                switch (names[i]) {
+                    case "id" -> rowSet.updateLong(i + 1, row);
+                    case "name" -> rowSet.updateString(i + 1, "Customer " + row);
+                    case "password" -> rowSet.updateString(i + 1, "$2a$10$" + row);
+                    case "email" -> rowSet.updateString(i + 1, "customer" + row + "@gmail.com");
+                    case "age" -> rowSet.updateInt(i + 1, 20 + row % 50);
+                    case "gender" -> rowSet.updateString(i + 1, row % 2 == 0 ? "Male" : "Female");
+                    default -> throw new IllegalStateException("Unexpected column " + names[i]);
+                }
+            }
+            rowSet.insertRow();
+            rowSet.moveToCurrentRow();
+        }
+        return rowSet;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerRowMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springbootexample.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-request token verification cost of JWTAuthenticationFilter, and issuing cost on
+ * login and registration.
+ *
+ * threeParsesPerRequest replays the old filter path (getSubject + isTokenValid, each
+ * re-deriving the key, rebuilding the parser and verifying the signature).
+ * verifyOncePerRequest is the current JWTUtil.verify path.
+ *
+ * Run with: mvn -Pbenchmark test -DskipTests -Djmh.includes=JWTUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTUtilBenchmark {
+
+    private static final String USER_NAME = "islam.gad@gmail.com";
+
+    private JWTUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil();
+        token = jwtUtil.issueToken(USER_NAME, "ROLE_USER");
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return jwtUtil.issueToken(USER_NAME, "ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean threeParsesPerRequest() {
+        String subject = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(subject)
+                && !legacyClaims(token).getExpiration().toInstant().isBefore(Instant.now());
+    }
+
+    @Benchmark
+    public boolean verifyOncePerRequest() {
+        return jwtUtil.verify(token).isValidFor(USER_NAME);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(JWTUtil.SECRET_KEY.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JWTUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
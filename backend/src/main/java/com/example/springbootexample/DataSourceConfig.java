@@ -0,0 +1,110 @@
+package com.example.springbootexample;
+
+import com.example.springbootexample.customer.CustomerReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvidersConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Three Hikari pools on the primary: one for writes, Flyway and JPA, a read pool for the
+ * customer lookups so auth never queues behind bulk writes, and a small export pool whose
+ * connections are held for a whole streamed export. The lookups go through
+ * {@link ReplicaRoutingDataSource}, which prefers replicas and falls back to that read pool.
+ * All are bound to Micrometer by the actuator, as hikaricp.connections.* tagged with the pool name
+ * and jdbc.connections.* tagged name=dataSource, name=primaryRead or name=export.
+ * Declared explicitly because the DataSource auto-configuration backs off once R2DBC is configured.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@Import(DataSourcePoolMetadataProvidersConfiguration.class)
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("customer.datasource.read.hikari")
+    public HikariDataSource primaryReadDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    // read-only, with a leak threshold sized for an export rather than a request
+    @Bean
+    @ConfigurationProperties("customer.datasource.export.hikari")
+    public HikariDataSource exportDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource readDataSource(@Qualifier("primaryReadDataSource") HikariDataSource primaryReadDataSource,
+                                                   CustomerReadYourWrites customerReadYourWrites,
+                                                   MeterRegistry meterRegistry,
+                                                   @Value("${customer.datasource.replica.urls:}") List<String> replicaUrls,
+                                                   @Value("${customer.datasource.replica.max-lag:1s}") Duration maxLag,
+                                                   @Value("${customer.datasource.replica.check-interval:1s}") Duration checkInterval) {
+
+        // replicas share the credentials and read pool settings, they are not beans so their metrics are bound here
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            if (replicaUrl.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            primaryReadDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(replicaUrl.strip());
+            replica.setPoolName(primaryReadDataSource.getPoolName() + "-replica-" + replicas.size());
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(
+                primaryReadDataSource,
+                replicas,
+                customerReadYourWrites::requiresPrimary,
+                maxLag,
+                checkInterval,
+                meterRegistry
+        );
+    }
+
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    public JdbcTemplate readJdbcTemplate(@Qualifier("readDataSource") DataSource readDataSource) {
+        return new JdbcTemplate(readDataSource);
+    }
+
+    @Bean
+    public JdbcTemplate exportJdbcTemplate(@Qualifier("exportDataSource") DataSource exportDataSource) {
+        return new JdbcTemplate(exportDataSource);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.springbootexample;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sends reads to a replica whose last measured lag is within {@code maxLag}, round robin,
+ * and falls back to the primary when none is, or when {@code primaryRequired} says the caller
+ * must read its own writes. Replicas start out unhealthy until their first lag probe.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // 0 when every received WAL record is replayed, so an idle primary doesn't look like lag
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE((EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint, 0)
+            END
+            """;
+
+    private final List<Replica> replicas;
+    private final BooleanSupplier primaryRequired;
+    private final long maxLagMillis;
+    private final Duration checkInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    private ScheduledExecutorService lagProbe;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<? extends DataSource> replicas,
+                                    BooleanSupplier primaryRequired,
+                                    Duration maxLag,
+                                    Duration checkInterval,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicas.get(i)))
+                .toList();
+        this.primaryRequired = primaryRequired;
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkInterval = checkInterval;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.key(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.primaryReads = Counter.builder("customer.datasource.reads")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaReads = Counter.builder("customer.datasource.reads")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.replicas.forEach(replica -> Gauge.builder("customer.datasource.replica.lag", replica, Replica::lagMillis)
+                .tag("replica", replica.key())
+                .baseUnit("milliseconds")
+                .description("Last measured replay lag, -1 when the probe failed")
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (replicas.isEmpty()) {
+            return;
+        }
+        lagProbe = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-probe-"));
+        lagProbe.scheduleWithFixedDelay(this::probeLag, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!primaryRequired.getAsBoolean()) {
+            Replica replica = nextHealthyReplica();
+            if (replica != null) {
+                replicaReads.increment();
+                return replica.key();
+            }
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy(maxLagMillis)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void probeLag() {
+        for (Replica replica : replicas) {
+            try {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.dataSource());
+                jdbcTemplate.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+                Long lag = jdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+                replica.setLagMillis(lag == null ? -1 : lag);
+            } catch (RuntimeException e) {
+                if (replica.lagMillis() >= 0) {
+                    System.out.println("Replica " + replica.key() + " taken out of rotation: " + e.getMessage());
+                }
+                replica.setLagMillis(-1);
+            }
+        }
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        // don't let pool metadata and metrics binders unwrap into whichever target is current
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("ReplicaRoutingDataSource can't be unwrapped to " + iface.getName());
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagProbe != null) {
+            lagProbe.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile long lagMillis = -1;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+        String key() {
+            return key;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+
+        long lagMillis() {
+            return lagMillis;
+        }
+
+        void setLagMillis(long lagMillis) {
+            this.lagMillis = lagMillis;
+        }
+
+        boolean isHealthy(long maxLagMillis) {
+            long lag = lagMillis;
+            return lag >= 0 && lag <= maxLagMillis;
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.example.springbootexample;
 
-import com.example.springbootexample.customer.CustomerJPARepository;
+import com.example.springbootexample.customer.CustomerJpaDataAccessService;
 import com.example.springbootexample.customer.CustomerModel;
 import com.example.springbootexample.customer.utiles.Gender;
 import com.example.springbootexample.jwt.JWTUtil;
 import com.github.javafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
@@ -22,26 +25,34 @@ public class SpringBootExampleApplication {
     }
 
     @Bean
-    CommandLineRunner runner(CustomerJPARepository customerJPARepository,
-                             PasswordEncoder passwordEncoder) {
+    CommandLineRunner runner(CustomerJpaDataAccessService customerJpaDataAccessService,
+                             PasswordEncoder passwordEncoder,
+                             @Value("${customer.seed.count:1}") int seedCount) {
         return args -> {
 
             var faker = new Faker();
-            var firstName = faker.name().firstName();
-            var lastName = faker.name().lastName();
-            String email = firstName + "." + lastName + "@example.com";
-            var gender = firstName.contains("e") ? Gender.Male : Gender.Female;
             var random = new Random();
-
-            CustomerModel customerModel = new CustomerModel(
-                    firstName + " " + lastName,
-                    passwordEncoder.encode(UUID.randomUUID().toString()),
-                    email,
-                    random.nextInt(16, 99),
-                    gender.name()
-            );
-
-            customerJPARepository.save(customerModel);
+            // one hash for every seeded customer, hashing each one would dominate a large seed
+            String password = passwordEncoder.encode(UUID.randomUUID().toString());
+
+            List<CustomerModel> customers = new ArrayList<>(seedCount);
+            for (int i = 0; i < seedCount; i++) {
+                var firstName = faker.name().firstName();
+                var lastName = faker.name().lastName();
+                String email = firstName + "." + lastName + "-" + UUID.randomUUID() + "@example.com";
+                var gender = firstName.contains("e") ? Gender.Male : Gender.Female;
+
+                customers.add(new CustomerModel(
+                        firstName + " " + lastName,
+                        password,
+                        email,
+                        random.nextInt(16, 99),
+                        gender.name()
+                ));
+            }
+
+            // pooled ids and Hibernate batches, instead of a save and a nextval per customer
+            customerJpaDataAccessService.batchInsertCustomers(customers);
 
         };
     }
@@ -0,0 +1,57 @@
+package com.example.springbootexample;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode that runs every Tomcat request, including the security filter chain and the
+ * blocking DAO calls, on a virtual thread per request. MVC async work such as the NDJSON
+ * export runs on virtual threads too. Uses the property name Spring Boot 3.2 adopts for the
+ * same switch. Needs a Java 21 runtime, although the code is still compiled for 17.
+ * <p>
+ * With virtual threads the Tomcat pool no longer caps concurrency, so the Hikari pool does:
+ * requests wait up to spring.datasource.hikari.connection-timeout for a connection and then
+ * get a 503.
+ */
+@Configuration
+@ConditionalOnProperty(value = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        virtualThreadExecutor.shutdown();
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            // looked up reflectively so the build keeps targeting Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs Java 21 or later but running on %S"
+                    .formatted(Runtime.version()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+}
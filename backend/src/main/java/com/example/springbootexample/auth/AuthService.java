@@ -4,12 +4,14 @@ import com.example.springbootexample.customer.CustomerModel;
 import com.example.springbootexample.customer.CustomerModelDTO;
 import com.example.springbootexample.customer.CustomerModelDTOMapper;
 import com.example.springbootexample.jwt.JWTUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
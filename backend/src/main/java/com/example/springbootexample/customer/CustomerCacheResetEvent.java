@@ -0,0 +1,8 @@
+package com.example.springbootexample.customer;
+
+/**
+ * Customer changes may have been missed (e.g. the LISTEN connection dropped),
+ * so local customer caches should be cleared.
+ */
+public record CustomerCacheResetEvent(String reason) {
+}
@@ -0,0 +1,165 @@
+package com.example.springbootexample.customer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of another CustomerDAO. Single customers are cached by id,
+ * and emails are cached as pointers to ids. API reads get their own id cache of DTOs loaded
+ * through the delegate's password-free projection; the entity cache, hashes included, only
+ * serves the sign-in and update paths that need the full customer.
+ * Concurrent misses for the same key load once.
+ * Writes go to the delegate first and then invalidate, so an in-flight load of the old row
+ * is discarded. Changes made by other nodes arrive as {@link CustomerChangeEvent}s.
+ * An email pointer left behind by a write is checked against the customer it points to on
+ * read, so invalidation never has to search the email entries for an id.
+ * Cached customers are copied on the way out because callers mutate them.
+ */
+public class CustomerCachingDataAccessService implements CustomerDAO {
+
+    private final CustomerDAO delegate;
+    private final Cache<Long, CustomerModel> customersById;
+    private final Cache<Long, CustomerModelDTO> customerDTOsById;
+    private final Cache<String, Long> customerIdsByEmail;
+
+    public CustomerCachingDataAccessService(CustomerDAO delegate,
+                                            MeterRegistry meterRegistry,
+                                            long maxSize,
+                                            Duration ttl) {
+        this.delegate = delegate;
+        this.customersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.customerDTOsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.customerIdsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, customersById, "customersById");
+        CaffeineCacheMetrics.monitor(meterRegistry, customerDTOsById, "customerDTOsById");
+        CaffeineCacheMetrics.monitor(meterRegistry, customerIdsByEmail, "customerIdsByEmail");
+    }
+
+    @Override
+    public List<CustomerModel> selectAllUsers() {
+        return delegate.selectAllUsers();
+    }
+
+    @Override
+    public Optional<CustomerModel> selectCustomerByID(Long id) {
+        return cachedById(id).map(CustomerModel::new);
+    }
+
+    @Override
+    public List<CustomerModelDTO> selectCustomerDTOsAfterId(Long lastSeenId, int limit) {
+        return delegate.selectCustomerDTOsAfterId(lastSeenId, limit);
+    }
+
+    @Override
+    public Optional<CustomerModelDTO> selectCustomerDTOByID(Long id) {
+        // DTOs are immutable records, no copy needed
+        return Optional.ofNullable(customerDTOsById.get(id, key -> delegate.selectCustomerDTOByID(key).orElse(null)));
+    }
+
+    @Override
+    public Long insertCustomer(CustomerModel customerModel) {
+        Long id = delegate.insertCustomer(customerModel);
+        customerIdsByEmail.invalidate(customerModel.getEmail());
+        return id;
+    }
+
+    @Override
+    public boolean userEmailExists(String email) {
+        return delegate.userEmailExists(email);
+    }
+
+    @Override
+    public boolean userIDExists(Long id) {
+        return customersById.getIfPresent(id) != null
+                || customerDTOsById.getIfPresent(id) != null
+                || delegate.userIDExists(id);
+    }
+
+    @Override
+    public int deleteCustomerById(Long id) {
+        int deleted = delegate.deleteCustomerById(id);
+        invalidate(id);
+        return deleted;
+    }
+
+    @Override
+    public int updateCustomer(CustomerModel customerModel) {
+        int updated = delegate.updateCustomer(customerModel);
+        invalidate(customerModel.getId());
+        return updated;
+    }
+
+    @Override
+    public void updateCustomerPassword(Long id, String password) {
+        delegate.updateCustomerPassword(id, password);
+        customersById.invalidate(id);
+    }
+
+    @Override
+    public Optional<CustomerModel> getCustomerByEmail(String email) {
+        Long id = customerIdsByEmail.get(email, key -> delegate.getCustomerByEmail(key)
+                .map(CustomerModel::getId)
+                .orElse(null));
+
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        Optional<CustomerModel> customerModel = selectCustomerByID(id);
+        if (customerModel.map(CustomerModel::getEmail).filter(email::equals).isEmpty()) {
+            // the email moved or was deleted while its id was being loaded
+            customerIdsByEmail.invalidate(email);
+            return delegate.getCustomerByEmail(email);
+        }
+        return customerModel;
+    }
+
+    private Optional<CustomerModel> cachedById(Long id) {
+        // a null from the loader is not cached, so unknown ids always reach the delegate
+        return Optional.ofNullable(customersById.get(id, key -> delegate.selectCustomerByID(key).orElse(null)));
+    }
+
+    @EventListener
+    public void onCustomerChange(CustomerChangeEvent event) {
+        invalidate(event.id());
+        // the trigger sends the emails, so both pointers go by key
+        if (event.email() != null) {
+            customerIdsByEmail.invalidate(event.email());
+        }
+        if (event.previousEmail() != null) {
+            customerIdsByEmail.invalidate(event.previousEmail());
+        }
+    }
+
+    @EventListener
+    public void onCacheReset(CustomerCacheResetEvent event) {
+        customersById.invalidateAll();
+        customerDTOsById.invalidateAll();
+        customerIdsByEmail.invalidateAll();
+    }
+
+    private void invalidate(Long id) {
+        customersById.invalidate(id);
+        customerDTOsById.invalidate(id);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.springbootexample.customer;
+
+/**
+ * A committed insert, update or delete of a customer row, published by the customer table
+ * trigger on the {@value CustomerChangeListener#CHANNEL} channel.
+ */
+public record CustomerChangeEvent(
+        String op,
+        Long id,
+        String email,
+        String previousEmail
+) {
+}
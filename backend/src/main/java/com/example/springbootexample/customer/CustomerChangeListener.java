@@ -0,0 +1,133 @@
+package com.example.springbootexample.customer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Listens for customer table changes made by any node and republishes them as
+ * {@link CustomerChangeEvent}s so local caches can evict. Uses its own connection
+ * outside the pool, since a LISTEN connection is held for the lifetime of the app.
+ */
+@Component
+public class CustomerChangeListener {
+
+    static final String CHANNEL = "customer_changes";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listenerThread;
+
+    public CustomerChangeListener(DataSourceProperties dataSourceProperties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${customer.invalidation.enabled:true}") boolean enabled,
+                                  @Value("${customer.invalidation.poll-timeout:10s}") Duration pollTimeout,
+                                  @Value("${customer.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "customer-change-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listening = true;
+
+                if (connectedBefore) {
+                    eventPublisher.publishEvent(new CustomerCacheResetEvent("Customer change listener reconnected"));
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                System.out.println("Customer change listener disconnected = " + e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    void dispatch(String payload) {
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(payload, CustomerChangeEvent.class));
+        } catch (JsonProcessingException e) {
+            eventPublisher.publishEvent(new CustomerCacheResetEvent("Unreadable customer change [%S]".formatted(payload)));
+        } catch (RuntimeException e) {
+            // a failing cache must not stop the listener for the others
+            System.out.println("Customer change not applied = " + e.getMessage());
+        }
+    }
+}
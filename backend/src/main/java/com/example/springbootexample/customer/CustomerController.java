@@ -2,15 +2,19 @@ package com.example.springbootexample.customer;
 
 import com.example.springbootexample.jwt.JWTUtil;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("api/v1/customers")
 public class CustomerController {
 
@@ -18,14 +22,18 @@ public class CustomerController {
 
     private final CustomerService customerService;
 
-    public CustomerController(JWTUtil jwtUtil, CustomerService customerService) {
+    private final CustomerImportService customerImportService;
+
+    public CustomerController(JWTUtil jwtUtil, CustomerService customerService, CustomerImportService customerImportService) {
         this.jwtUtil = jwtUtil;
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
     }
 
     @GetMapping
-    public List<CustomerModelDTO> getAllCustomer() {
-        return customerService.getAllCustomer();
+    public CustomerPage getAllCustomer(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer size) {
+        return customerService.getCustomerPage(cursor, size);
     }
 
     @GetMapping("{id}")
@@ -36,10 +44,9 @@ public class CustomerController {
     @PostMapping
     public ResponseEntity<CustomerModel> insertCustomer(@Valid @RequestBody CustomerRegisterRequest customerRegisterRequest) {
 
-        customerService.insertCustomer(customerRegisterRequest);
-        Long id = customerService.getCustomerByEmail(customerRegisterRequest.email()).getId();
+        Long id = customerService.insertCustomer(customerRegisterRequest);
 
-        String token = jwtUtil.issueToken(customerRegisterRequest.email(), "ROLE_USER");
+        String token = jwtUtil.issueToken(customerRegisterRequest.email(), CustomerRoles.USER.names());
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -51,6 +58,16 @@ public class CustomerController {
                 .build();
     }
 
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CustomerImportResult importCustomersFromJson(InputStream body) throws IOException {
+        return customerImportService.importJson(body);
+    }
+
+    @PostMapping(value = "import", consumes = "text/csv")
+    public CustomerImportResult importCustomersFromCsv(InputStream body) throws IOException {
+        return customerImportService.importCsv(body);
+    }
+
     @DeleteMapping("{id}")
     public void deleteCustomer(@PathVariable Long id) {
         customerService.deleteCustomer(id);
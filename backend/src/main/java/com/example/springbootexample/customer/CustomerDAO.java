@@ -8,11 +8,14 @@ public interface CustomerDAO {
 
      List<CustomerModel> selectAllUsers();
      Optional<CustomerModel> selectCustomerByID(Long id);
-     void insertCustomer(CustomerModel customerModel);
+     List<CustomerModelDTO> selectCustomerDTOsAfterId(Long lastSeenId, int limit);
+     Optional<CustomerModelDTO> selectCustomerDTOByID(Long id);
+     Long insertCustomer(CustomerModel customerModel);
      boolean userEmailExists(String email);
      boolean userIDExists(Long id);
-     void deleteCustomerById(Long id);
-     void updateCustomer(CustomerModel customerModel);
+     int deleteCustomerById(Long id);
+     int updateCustomer(CustomerModel customerModel);
+     void updateCustomerPassword(Long id, String password);
      Optional<CustomerModel> getCustomerByEmail(String email);
 
 }
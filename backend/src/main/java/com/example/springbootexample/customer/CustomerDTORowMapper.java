@@ -0,0 +1,25 @@
+package com.example.springbootexample.customer;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Component
+public class CustomerDTORowMapper implements RowMapper<CustomerModelDTO> {
+
+    // column order must match the indexes read in mapRow
+    static final String COLUMNS = "id, name, email, gender, age";
+
+    @Override
+    public CustomerModelDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new CustomerModelDTO(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getInt(5)
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springbootexample.customer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CustomerDataAccessConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.dao.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public static CustomerDAOMetricsPostProcessor customerDAOMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CustomerDAOMetricsPostProcessor(meterRegistry);
+    }
+
+    @Bean("Cached")
+    public CustomerCachingDataAccessService cachedCustomerDAO(BeanFactory beanFactory,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${customer.cache.delegate:JDBC}") String delegate,
+                                         @Value("${customer.cache.max-size:10000}") long maxSize,
+                                         @Value("${customer.cache.ttl:1m}") Duration ttl) {
+
+        return new CustomerCachingDataAccessService(
+                beanFactory.getBean(delegate, CustomerDAO.class),
+                meterRegistry,
+                maxSize,
+                ttl
+        );
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.springbootexample.customer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bloom filter of known customer emails, used to answer "definitely not taken" without a query.
+ * Only a negative answer is trusted: anything that might be present still goes to the database.
+ * Bits can't be cleared, so deleted or changed emails stay "maybe present" until the next rebuild.
+ * Until the first rebuild finishes every email is reported as maybe present.
+ */
+@Component
+public class CustomerEmailFilter {
+
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile Bits bits;
+    private volatile Bits rebuilding;
+
+    private final Counter definitelyAbsent;
+    private final Counter maybePresent;
+
+    public CustomerEmailFilter(MeterRegistry meterRegistry,
+                               @Value("${customer.email-filter.enabled:true}") boolean enabled,
+                               @Value("${customer.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${customer.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1 but was %S".formatted(falsePositiveRate));
+        }
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.definitelyAbsent = Counter.builder("customer.email.filter.checks")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.maybePresent = Counter.builder("customer.email.filter.checks")
+                .tag("result", "maybe")
+                .register(meterRegistry);
+
+        Gauge.builder("customer.email.filter.memory", this, filter -> filter.bits == null ? 0 : filter.bits.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("customer.email.filter.hashes", this, filter -> filter.bits == null ? 0 : filter.bits.numHashes)
+                .description("Hash functions per email in the current filter")
+                .register(meterRegistry);
+        Gauge.builder("customer.email.filter.emails", this, filter -> filter.bits == null ? 0 : filter.bits.insertions.get())
+                .description("Emails added since the last rebuild, including the ones it loaded")
+                .register(meterRegistry);
+        Gauge.builder("customer.email.filter.false.positive.rate", this, filter -> filter.falsePositiveRate)
+                .description("Configured false positive rate at the expected number of emails")
+                .register(meterRegistry);
+        Gauge.builder("customer.email.filter.expected.false.positive.rate", this,
+                        filter -> filter.bits == null ? 1 : filter.bits.expectedFalsePositiveRate())
+                .description("Estimated false positive rate for the emails added so far")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String email) {
+        Bits current = bits;
+        if (!enabled || current == null || current.mightContain(email)) {
+            maybePresent.increment();
+            return true;
+        }
+        definitelyAbsent.increment();
+        return false;
+    }
+
+    public void put(String email) {
+        // feed both filters while a rebuild runs so emails written meanwhile are not lost in the swap
+        Bits next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+        Bits current = bits;
+        if (current != null) {
+            current.put(email);
+        }
+    }
+
+    @EventListener
+    public void onCustomerChange(CustomerChangeEvent event) {
+        if (event.email() != null) {
+            put(event.email());
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from {@code emails}, sized for at least twice the
+     * current number of customers so it doesn't saturate right after startup.
+     */
+    public synchronized void rebuild(long customerCount, Consumer<Consumer<String>> emails) {
+        if (!enabled) {
+            return;
+        }
+        Bits next = new Bits(Math.max(expectedInsertions, customerCount * 2), falsePositiveRate);
+        rebuilding = next;
+        try {
+            emails.accept(next::put);
+            bits = next;
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long numBits;
+        private final int numHashes;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Bits(long expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBits + 63) / 64)));
+            this.numBits = words.length() * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String email) {
+            long hash = hash(email);
+            long combined = hash;
+            long step = mix(hash) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(combined, numBits);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                long previous;
+                do {
+                    previous = words.get(word);
+                } while ((previous & mask) == 0 && !words.compareAndSet(word, previous, previous | mask));
+                combined += step;
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String email) {
+            long hash = hash(email);
+            long combined = hash;
+            long step = mix(hash) | 1;
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(combined, numBits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += step;
+            }
+            return true;
+        }
+
+        long sizeInBytes() {
+            return words.length() * 8L;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) numHashes * insertions.get() / numBits), numHashes);
+        }
+
+        private static long hash(String email) {
+            long hash = 0x9E3779B97F4A7C15L ^ email.length();
+            for (int i = 0; i < email.length(); i++) {
+                hash = Long.rotateLeft((hash ^ email.charAt(i)) * 0xFF51AFD7ED558CCDL, 31);
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            hash *= 0xC4CEB9FE1A85EC53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.springbootexample.customer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("api/v1/customers/export")
+public class CustomerExportController {
+
+    private final CustomerExportService customerExportService;
+
+    public CustomerExportController(CustomerExportService customerExportService) {
+        this.customerExportService = customerExportService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportAllCustomers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(customerExportService::exportAllCustomers);
+    }
+}
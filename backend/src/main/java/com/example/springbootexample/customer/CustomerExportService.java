@@ -0,0 +1,55 @@
+package com.example.springbootexample.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+public class CustomerExportService {
+
+    private final CustomerJDBCDataAccessService customerJDBCDataAccessService;
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public CustomerExportService(CustomerJDBCDataAccessService customerJDBCDataAccessService,
+                                 ObjectMapper objectMapper,
+                                 @Qualifier("exportDataSource") DataSource exportDataSource,
+                                 @Value("${customer.export.fetch-size:1000}") int fetchSize) {
+        this.customerJDBCDataAccessService = customerJDBCDataAccessService;
+        this.objectWriter = objectMapper.writerFor(CustomerModelDTO.class);
+        // not a bean, a second transaction manager would make the JPA one back off
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(exportDataSource));
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public void exportAllCustomers(OutputStream outputStream) {
+        long[] rows = {0};
+
+        transactionTemplate.executeWithoutResult(status ->
+                customerJDBCDataAccessService.streamAllCustomerDTOs(fetchSize, customer -> {
+                    try {
+                        outputStream.write(objectWriter.writeValueAsBytes(customer));
+                        outputStream.write('\n');
+
+                        // flush the first row right away, then once per fetched chunk
+                        if (rows[0]++ % fetchSize == 0) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+        );
+    }
+}
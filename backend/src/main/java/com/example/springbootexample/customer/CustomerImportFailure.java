@@ -0,0 +1,8 @@
+package com.example.springbootexample.customer;
+
+public record CustomerImportFailure(
+        long row,
+        String email,
+        String reason
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.springbootexample.customer;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. notProcessedFromRow is null when the whole body was imported; otherwise
+ * password hashing was saturated and that row and every row after it were not processed, while
+ * the rows before it were committed as reported.
+ */
+public record CustomerImportResult(
+        long received,
+        long imported,
+        long failed,
+        Long notProcessedFromRow,
+        List<CustomerImportFailure> failures
+) {
+}
@@ -0,0 +1,339 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.exception.PasswordHashingUnavailableException;
+import com.example.springbootexample.exception.ResourceValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Service
+public class CustomerImportService {
+
+    static final int MAX_REPORTED_FAILURES = 1000;
+    static final String CSV_HEADER = "name,password,email,age,gender";
+
+    private final CustomerJDBCDataAccessService customerJDBCDataAccessService;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executorService;
+    private final int chunkSize;
+
+    public CustomerImportService(CustomerJDBCDataAccessService customerJDBCDataAccessService,
+                                 PasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${customer.import.parallelism:2}") int parallelism,
+                                 @Value("${customer.import.chunk-size:1000}") int chunkSize) {
+        this.customerJDBCDataAccessService = customerJDBCDataAccessService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        // caps how many hashing slots an import can take from logins and registrations
+        this.executorService = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("customer-import-"));
+        this.chunkSize = chunkSize;
+    }
+
+    public CustomerImportResult importJson(InputStream inputStream) throws IOException {
+        try (MappingIterator<CustomerRegisterRequest> requests = objectMapper
+                .readerFor(CustomerRegisterRequest.class)
+                .readValues(inputStream)) {
+
+            return importRows(new RowSource() {
+                long rowNumber = 0;
+
+                @Override
+                public ImportRow next() {
+                    try {
+                        if (!requests.hasNextValue()) {
+                            return null;
+                        }
+                        rowNumber++;
+                        return new ImportRow(rowNumber, requests.nextValue(), null);
+                    } catch (JsonProcessingException e) {
+                        throw new ResourceValidationException("Malformed JSON at row %S: %S".formatted(rowNumber + 1, e.getOriginalMessage()));
+                    } catch (IOException e) {
+                        throw new ResourceValidationException("Could not read import body: %S".formatted(e.getMessage()));
+                    }
+                }
+            });
+        }
+    }
+
+    public CustomerImportResult importCsv(InputStream inputStream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+
+            String header = reader.readLine();
+            if (header == null || !CSV_HEADER.equalsIgnoreCase(header.strip())) {
+                throw new ResourceValidationException("CSV header must be [%S]".formatted(CSV_HEADER));
+            }
+
+            return importRows(new RowSource() {
+                long rowNumber = 0;
+
+                @Override
+                public ImportRow next() throws IOException {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                        if (line == null) {
+                            return null;
+                        }
+                    } while (line.isBlank());
+
+                    rowNumber++;
+                    return parseCsvLine(rowNumber, line);
+                }
+            });
+        }
+    }
+
+    private static ImportRow parseCsvLine(long rowNumber, String line) {
+        List<String> fields;
+        try {
+            fields = splitCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(rowNumber, null, e.getMessage());
+        }
+        if (fields.size() != 5) {
+            return new ImportRow(rowNumber, null, "Expected 5 columns but found %S".formatted(fields.size()));
+        }
+        String[] columns = fields.toArray(String[]::new);
+
+        Integer age;
+        try {
+            age = Integer.valueOf(columns[3].strip());
+        } catch (NumberFormatException e) {
+            return new ImportRow(rowNumber, null, "Invalid age [%S]".formatted(columns[3]));
+        }
+
+        return new ImportRow(rowNumber, new CustomerRegisterRequest(
+                columns[0].strip(),
+                columns[1],
+                columns[2].strip(),
+                age,
+                columns[4].strip()
+        ), null);
+    }
+
+    /*
+     * Splits one CSV line following RFC 4180: a quoted field may hold commas and "" for a quote.
+     * Records are read line by line, so a line break inside a quoted field is not supported and
+     * shows up as an unterminated quote.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field in column %S".formatted(fields.size() + 1));
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected text after quoted field in column %S".formatted(fields.size() + 1));
+                }
+            } else {
+                int end = line.indexOf(',', i);
+                end = end < 0 ? line.length() : end;
+                field.append(line, i, end);
+                i = end;
+            }
+
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+
+    private CustomerImportResult importRows(RowSource rows) throws IOException {
+        long received = 0;
+        long imported = 0;
+        long failed = 0;
+        Long notProcessedFromRow = null;
+        List<CustomerImportFailure> failures = new ArrayList<>();
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        do {
+            row = rows.next();
+            if (row != null) {
+                received++;
+                chunk.add(row);
+            }
+
+            if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                ChunkResult chunkResult = importChunk(chunk);
+                imported += chunkResult.imported();
+                failed += chunkResult.failures().size();
+                chunkResult.failures().stream()
+                        .limit(MAX_REPORTED_FAILURES - failures.size())
+                        .forEach(failures::add);
+                chunk.clear();
+                notProcessedFromRow = chunkResult.notProcessedFromRow();
+            }
+        } while (row != null && notProcessedFromRow == null);
+
+        return new CustomerImportResult(received, imported, failed, notProcessedFromRow, failures);
+    }
+
+    private ChunkResult importChunk(List<ImportRow> chunk) {
+        List<Callable<PreparedRow>> tasks = chunk.stream()
+                .<Callable<PreparedRow>>map(row -> () -> prepare(row))
+                .toList();
+
+        List<CustomerImportFailure> failures = new ArrayList<>();
+        List<PreparedRow> valid = new ArrayList<>(chunk.size());
+        Long notProcessedFromRow = null;
+
+        List<Future<PreparedRow>> futures = invokeAll(tasks);
+        for (int i = 0; i < futures.size(); i++) {
+            PreparedRow prepared;
+            try {
+                prepared = getPrepared(futures.get(i));
+            } catch (PasswordHashingUnavailableException e) {
+                // earlier chunks are committed, so stop here and report them instead of failing the request;
+                // rows before this one in the chunk are still inserted, this one and everything after is left for a retry
+                notProcessedFromRow = chunk.get(i).number();
+                break;
+            }
+            if (prepared.error() != null) {
+                failures.add(new CustomerImportFailure(prepared.row(), prepared.email(), prepared.error()));
+            } else {
+                valid.add(prepared);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            int[] inserted = customerJDBCDataAccessService.batchInsertCustomers(
+                    valid.stream().map(PreparedRow::customer).toList());
+
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] == 0) {
+                    PreparedRow duplicate = valid.get(i);
+                    failures.add(new CustomerImportFailure(duplicate.row(), duplicate.email(), "Email Already Token"));
+                }
+            }
+        }
+
+        long processed = notProcessedFromRow == null ? chunk.size() : notProcessedFromRow - chunk.get(0).number();
+        return new ChunkResult(processed - failures.size(), failures, notProcessedFromRow);
+    }
+
+    private PreparedRow prepare(ImportRow row) {
+        if (row.error() != null) {
+            return new PreparedRow(row.number(), null, null, row.error());
+        }
+
+        CustomerRegisterRequest request = row.request();
+        String error = validate(request);
+        if (error != null) {
+            return new PreparedRow(row.number(), request.email(), null, error);
+        }
+
+        try {
+            return new PreparedRow(row.number(), request.email(), new CustomerModel(
+                    request.name(),
+                    passwordEncoder.encode(request.password()),
+                    request.email(),
+                    request.age(),
+                    request.gender()
+            ), null);
+        } catch (IllegalArgumentException e) {
+            // the encoder rejected this password; a saturated encoder is not the row's fault and stops the import
+            return new PreparedRow(row.number(), request.email(), null, e.getMessage());
+        }
+    }
+
+    private String validate(CustomerRegisterRequest request) {
+        if (request == null || request.name() == null || request.password() == null
+                || request.email() == null || request.age() == null || request.gender() == null) {
+            return "name, password, email, age and gender are required";
+        }
+
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private List<Future<PreparedRow>> invokeAll(List<Callable<PreparedRow>> tasks) {
+        try {
+            return executorService.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer import interrupted", e);
+        }
+    }
+
+    private static PreparedRow getPrepared(Future<PreparedRow> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executorService.shutdown();
+    }
+
+    private interface RowSource {
+        ImportRow next() throws IOException;
+    }
+
+    private record ImportRow(long number, CustomerRegisterRequest request, String error) {
+    }
+
+    private record PreparedRow(long row, String email, CustomerModel customer, String error) {
+    }
+
+    private record ChunkResult(long imported, List<CustomerImportFailure> failures, Long notProcessedFromRow) {
+    }
+}
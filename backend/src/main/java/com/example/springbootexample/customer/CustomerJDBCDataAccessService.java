@@ -1,66 +1,167 @@
 package com.example.springbootexample.customer;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 @Repository("JDBC")
 public class CustomerJDBCDataAccessService implements CustomerDAO {
 
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate readJdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
     private final CustomerRawMapper customerRawMapper;
-
-    public CustomerJDBCDataAccessService(JdbcTemplate jdbcTemplate, CustomerRawMapper customerRawMapper) {
+    private final CustomerDTORowMapper customerDTORowMapper;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final CustomerReadYourWrites customerReadYourWrites;
+
+    public CustomerJDBCDataAccessService(JdbcTemplate jdbcTemplate,
+                                         @Qualifier("readJdbcTemplate") JdbcTemplate readJdbcTemplate,
+                                         @Qualifier("exportJdbcTemplate") JdbcTemplate exportJdbcTemplate,
+                                         CustomerRawMapper customerRawMapper,
+                                         CustomerDTORowMapper customerDTORowMapper,
+                                         CustomerEmailFilter customerEmailFilter,
+                                         CustomerReadYourWrites customerReadYourWrites) {
         this.jdbcTemplate = jdbcTemplate;
+        this.readJdbcTemplate = readJdbcTemplate;
+        this.exportJdbcTemplate = exportJdbcTemplate;
         this.customerRawMapper = customerRawMapper;
+        this.customerDTORowMapper = customerDTORowMapper;
+        this.customerEmailFilter = customerEmailFilter;
+        this.customerReadYourWrites = customerReadYourWrites;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildEmailFilter() {
+        Long customerCount = readJdbcTemplate.queryForObject("SELECT COUNT(id) FROM customer", Long.class);
+
+        customerEmailFilter.rebuild(customerCount == null ? 0 : customerCount, emails ->
+                readJdbcTemplate.query("SELECT email FROM customer", (RowCallbackHandler) rs -> emails.accept(rs.getString(1))));
     }
 
     @Override
     public List<CustomerModel> selectAllUsers() {
         var sql = """
-                SELECT * FROM customer
-                """;
+                SELECT %s FROM customer
+                """.formatted(CustomerRawMapper.COLUMNS);
 
-        return jdbcTemplate.query(sql, customerRawMapper);
+        return readJdbcTemplate.query(sql, customerRawMapper);
+    }
+
+    @Override
+    public List<CustomerModelDTO> selectCustomerDTOsAfterId(Long lastSeenId, int limit) {
+        var sql = """
+                SELECT %s FROM customer
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?
+                """.formatted(CustomerDTORowMapper.COLUMNS);
+
+        return readJdbcTemplate.query(sql, customerDTORowMapper, lastSeenId, limit);
+    }
+
+    public void streamAllCustomerDTOs(int fetchSize, Consumer<CustomerModelDTO> consumer) {
+        var sql = """
+                SELECT %s FROM customer
+                ORDER BY id
+                """.formatted(CustomerDTORowMapper.COLUMNS);
+
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction, so this
+        // runs in CustomerExportService's transaction on the export pool, which holds the
+        // connection for the whole export without tripping the request pools' leak detection
+        exportJdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(customerDTORowMapper.mapRow(rs, rs.getRow())));
     }
 
     @Override
     public Optional<CustomerModel> selectCustomerByID(Long id) {
         var sql = """
-                SELECT * FROM customer
-                WHERE id =  ?
-                """;
+                SELECT %s FROM customer
+                WHERE id = ?
+                """.formatted(CustomerRawMapper.COLUMNS);
 
-        return jdbcTemplate.query(sql, customerRawMapper, id).stream().findFirst();
+        return customerReadYourWrites.readById(id, () ->
+                readJdbcTemplate.query(sql, customerRawMapper, id).stream().findFirst());
     }
 
     @Override
-    public void insertCustomer(CustomerModel customerModel) {
+    public Optional<CustomerModelDTO> selectCustomerDTOByID(Long id) {
+        var sql = """
+                SELECT %s FROM customer
+                WHERE id = ?
+                """.formatted(CustomerDTORowMapper.COLUMNS);
+
+        return customerReadYourWrites.readById(id, () ->
+                readJdbcTemplate.query(sql, customerDTORowMapper, id).stream().findFirst());
+    }
+
+    @Override
+    public Long insertCustomer(CustomerModel customerModel) {
         var sql = """
                 INSERT INTO customer(name, password, email, age, gender)
                 VALUES(?, ?, ?, ?, ?)
+                RETURNING id
                 """;
 
-        int result = jdbcTemplate.update(sql,
+        // a taken email surfaces as DuplicateKeyException from customer_email_unique
+        Long id = jdbcTemplate.queryForObject(sql, Long.class,
                 customerModel.getName(),
                 customerModel.getPassword(),
                 customerModel.getEmail(),
                 customerModel.getAge(),
                 customerModel.getGender());
-
-        System.out.println("Insert customer result = " + result);
+        customerEmailFilter.put(customerModel.getEmail());
+        customerReadYourWrites.recordWrite(id, customerModel.getEmail());
+        return id;
     }
 
 
+    public int[] batchInsertCustomers(List<CustomerModel> customers) {
+        var sql = """
+                INSERT INTO customer(name, password, email, age, gender)
+                VALUES(?, ?, ?, ?, ?)
+                ON CONFLICT ON CONSTRAINT customer_email_unique DO NOTHING
+                """;
+
+        // 0 in the returned counts means the email already existed, the rest of the batch still goes in
+        int[] inserted = jdbcTemplate.batchUpdate(sql, customers, customers.size(), (ps, customerModel) -> {
+            ps.setString(1, customerModel.getName());
+            ps.setString(2, customerModel.getPassword());
+            ps.setString(3, customerModel.getEmail());
+            ps.setInt(4, customerModel.getAge());
+            ps.setString(5, customerModel.getGender());
+        })[0];
+
+        customers.forEach(customerModel -> customerEmailFilter.put(customerModel.getEmail()));
+        return inserted;
+    }
+
     @Override
     public boolean userEmailExists(String email) {
+        if (!customerEmailFilter.mightContain(email)) {
+            return false;
+        }
+
         var sql = """
                 SELECT COUNT(id) FROM customer WHERE email = ?
                 """;
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, email);
+        Integer count = customerReadYourWrites.readByEmail(email, () ->
+                readJdbcTemplate.queryForObject(sql, Integer.class, email));
         return count != null && count > 0;
     }
 
@@ -69,81 +170,85 @@ public class CustomerJDBCDataAccessService implements CustomerDAO {
         var sql = """
                 SELECT COUNT(id) FROM customer WHERE id = ?
                 """;
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, id);
+        Integer count = customerReadYourWrites.readById(id, () ->
+                readJdbcTemplate.queryForObject(sql, Integer.class, id));
         return count != null && count > 0;
     }
 
     @Override
-    public void deleteCustomerById(Long id) {
+    public int deleteCustomerById(Long id) {
         var sql = """
                 DELETE FROM customer WHERE id = ?
                 """;
-        jdbcTemplate.update(sql, id);
+        int deleted = jdbcTemplate.update(sql, id);
+        customerReadYourWrites.recordWrite(id, null);
+        return deleted;
     }
 
     @Override
-    public void updateCustomer(CustomerModel customerModel) {
+    public int updateCustomer(CustomerModel customerModel) {
 
-        boolean isUpdated = false;
-        StringJoiner joiner = new StringJoiner(", ");
+        List<String> columns = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
 
         if (customerModel.getName() != null) {
-            var sql = """
-                    UPDATE customer SET name = ? WHERE id = ?
-                    """;
-
-            jdbcTemplate.update(sql,
-                    customerModel.getName(),
-                    customerModel.getId());
-
-            isUpdated = true;
-            joiner.add("name");
+            columns.add("name");
+            args.add(customerModel.getName());
         }
 
         if (customerModel.getEmail() != null) {
-            var sql = """
-                    UPDATE customer SET email = ? WHERE id = ?
-                    """;
-
-            jdbcTemplate.update(sql,
-                    customerModel.getEmail(),
-                    customerModel.getId());
+            columns.add("email");
+            args.add(customerModel.getEmail());
+        }
 
-            isUpdated = true;
-            joiner.add("email");
+        if (customerModel.getAge() != null) {
+            columns.add("age");
+            args.add(customerModel.getAge());
+        }
 
+        if (columns.isEmpty()) {
+            System.out.println("No Thing To Update");
+            return 0;
         }
 
-        if (customerModel.getAge() != null) {
-            var sql = """
-                    UPDATE customer SET age = ? WHERE id = ?
-                    """;
+        // one statement, so the changed columns are applied atomically in a single round trip
+        StringJoiner setClause = new StringJoiner(", ");
+        columns.forEach(column -> setClause.add(column + " = ?"));
+        args.add(customerModel.getId());
 
-            jdbcTemplate.update(sql,
-                    customerModel.getAge(),
-                    customerModel.getId());
+        var sql = """
+                UPDATE customer SET %s WHERE id = ?
+                """.formatted(setClause);
 
-            isUpdated = true;
-            joiner.add("age");
+        int updated = jdbcTemplate.update(sql, args.toArray());
+        customerReadYourWrites.recordWrite(customerModel.getId(), customerModel.getEmail());
+        if (customerModel.getEmail() != null) {
+            customerEmailFilter.put(customerModel.getEmail());
         }
 
-        if (isUpdated) {
-            System.out.println("Customer fields Updated = " + "[%S]".formatted(joiner.toString().formatted()));
-        } else {
-            System.out.println("No Thing To Update");
-        }
+        System.out.println("Customer fields Updated = " + "[%S]".formatted(String.join(", ", columns)));
+        return updated;
+    }
 
+    @Override
+    public void updateCustomerPassword(Long id, String password) {
+        var sql = """
+                UPDATE customer SET password = ? WHERE id = ?
+                """;
+        jdbcTemplate.update(sql, password, id);
+        customerReadYourWrites.recordWrite(id, null);
     }
 
     @Override
     public Optional<CustomerModel> getCustomerByEmail(String email) {
 
         var sql = """
-                SELECT * FROM customer
-                WHERE email =  ?
-                """;
+                SELECT %s FROM customer
+                WHERE email = ?
+                """.formatted(CustomerRawMapper.COLUMNS);
 
-        return jdbcTemplate.query(sql, customerRawMapper, email).stream().findFirst();
+        return customerReadYourWrites.readByEmail(email, () ->
+                readJdbcTemplate.query(sql, customerRawMapper, email).stream().findFirst());
 
     }
 
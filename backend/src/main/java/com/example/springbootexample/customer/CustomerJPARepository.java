@@ -1,12 +1,84 @@
 package com.example.springbootexample.customer;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerJPARepository extends JpaRepository<CustomerModel, Long> {
 
+    // read-only entities skip the dirty-checking snapshot, the fetch size streams big results from PostgreSQL
+    String READ_FETCH_SIZE = "500";
+
     boolean existsCustomerModelByEmail(String email);
     boolean existsCustomerModelById(Long id);
+
+    @Override
+    @Transactional(readOnly = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE)
+    })
+    List<CustomerModel> findAll();
+
+    @Override
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<CustomerModel> findById(Long id);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Optional<CustomerModel> findByEmail(String email);
+
+    // DTO projections select the columns the API returns, never the password hash
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE))
+    @Query("""
+            SELECT new com.example.springbootexample.customer.CustomerModelDTO(c.id, c.name, c.email, c.gender, c.age)
+            FROM CustomerModel c
+            WHERE c.id > :lastSeenId
+            ORDER BY c.id
+            """)
+    List<CustomerModelDTO> findDTOsAfterId(@Param("lastSeenId") Long lastSeenId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.example.springbootexample.customer.CustomerModelDTO(c.id, c.name, c.email, c.gender, c.age)
+            FROM CustomerModel c
+            WHERE c.id = :id
+            """)
+    Optional<CustomerModelDTO> findDTOById(@Param("id") Long id);
+
+    // null leaves the field as it is; 0 rows means the customer is gone, nothing is re-inserted
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE CustomerModel c SET
+                c.name = COALESCE(:name, c.name),
+                c.email = COALESCE(:email, c.email),
+                c.age = COALESCE(:age, c.age)
+            WHERE c.id = :id
+            """)
+    int updateCustomer(@Param("id") Long id,
+                       @Param("name") String name,
+                       @Param("email") String email,
+                       @Param("age") Integer age);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE CustomerModel c SET c.password = :password WHERE c.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CustomerModel c WHERE c.id = :id")
+    int deleteCustomerModelById(@Param("id") Long id);
 }
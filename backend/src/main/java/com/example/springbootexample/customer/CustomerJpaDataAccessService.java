@@ -1,7 +1,16 @@
 package com.example.springbootexample.customer;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,9 +18,18 @@ import java.util.Optional;
 public class CustomerJpaDataAccessService implements CustomerDAO {
 
     private final CustomerJPARepository customerJPARepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
 
-    public CustomerJpaDataAccessService(CustomerJPARepository customerJPARepository) {
+    public CustomerJpaDataAccessService(CustomerJPARepository customerJPARepository,
+                                        EntityManager entityManager,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${customer.jpa.batch-size:50}") int batchSize) {
         this.customerJPARepository = customerJPARepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -25,8 +43,51 @@ public class CustomerJpaDataAccessService implements CustomerDAO {
     }
 
     @Override
-    public void insertCustomer(CustomerModel customerModel) {
-        customerJPARepository.save(customerModel);
+    public List<CustomerModelDTO> selectCustomerDTOsAfterId(Long lastSeenId, int limit) {
+        return customerJPARepository.findDTOsAfterId(lastSeenId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public Optional<CustomerModelDTO> selectCustomerDTOByID(Long id) {
+        return customerJPARepository.findDTOById(id);
+    }
+
+    @Override
+    public Long insertCustomer(CustomerModel customerModel) {
+        try {
+            return customerJPARepository.saveAndFlush(customerModel).getId();
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e);
+        }
+    }
+
+    private static DataIntegrityViolationException translateDuplicateEmail(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && CustomerModel.EMAIL_UNIQUE_CONSTRAINT.equals(violation.getConstraintName())) {
+            return new DuplicateKeyException(e.getMessage(), e);
+        }
+        return e;
+    }
+
+    public List<Long> batchInsertCustomers(List<CustomerModel> customers) {
+        // ids come from the pooled sequence without a round trip per row, so Hibernate can send
+        // the inserts as JDBC batches; clearing every batch keeps the persistence context small.
+        // One transaction: a taken email rolls back the whole list. Bulk JPA writes (the startup
+        // seed) go through here, that is what the 50-id sequence increment in V7 is for
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>(customers.size());
+            for (int i = 0; i < customers.size(); i++) {
+                CustomerModel customerModel = customers.get(i);
+                entityManager.persist(customerModel);
+                ids.add(customerModel.getId());
+
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            return ids;
+        });
     }
 
     @Override
@@ -40,13 +101,31 @@ public class CustomerJpaDataAccessService implements CustomerDAO {
     }
 
     @Override
-    public void deleteCustomerById(Long id) {
-        customerJPARepository.deleteById(id);
+    public int deleteCustomerById(Long id) {
+        return customerJPARepository.deleteCustomerModelById(id);
+    }
+
+    @Override
+    public int updateCustomer(CustomerModel customerModel) {
+        if (customerModel.getName() == null && customerModel.getEmail() == null && customerModel.getAge() == null) {
+            System.out.println("No Thing To Update");
+            return 0;
+        }
+        try {
+            return customerJPARepository.updateCustomer(
+                    customerModel.getId(),
+                    customerModel.getName(),
+                    customerModel.getEmail(),
+                    customerModel.getAge()
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e);
+        }
     }
 
     @Override
-    public void updateCustomer(CustomerModel customerModel) {
-        customerJPARepository.save(customerModel);
+    public void updateCustomerPassword(Long id, String password) {
+        customerJPARepository.updatePassword(id, password);
     }
 
     @Override
@@ -1,81 +1,159 @@
 package com.example.springbootexample.customer;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Repository;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+/**
+ * In-memory customer store. Reads go straight to the concurrent maps without locking.
+ * Writes are serialized so the id map and the unique email index always change together.
+ * Stored customers are never mutated in place: writes replace them, and reads hand out
+ * copies because callers (e.g. CustomerService.updateCustomer) modify what they get back.
+ */
 @Repository("List")
 public class CustomerListDataAccessService implements CustomerDAO {
 
-    private final static List<CustomerModel> customerModelList;
+    private final ConcurrentNavigableMap<Long, CustomerModel> customersById = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Long> customerIdsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
 
-    static {
-        customerModelList = new ArrayList<>();
-        CustomerModel islam = new CustomerModel(
-                1l,
+    private final CustomerModelDTOMapper customerModelDTOMapper;
+
+    public CustomerListDataAccessService(CustomerModelDTOMapper customerModelDTOMapper) {
+        this.customerModelDTOMapper = customerModelDTOMapper;
+
+        insertCustomer(new CustomerModel(
                 "Islam Gad",
                 "password", "islam.gad@elswedy.com",
                 26,
                 "Male"
-        );
+        ));
 
-        CustomerModel mohamed = new CustomerModel(
-                2l,
+        insertCustomer(new CustomerModel(
                 "Mohamed Gad",
                 "password", "m.gad@gmail.com",
                 21,
                 "Female"
-        );
-
-        customerModelList.add(islam);
-        customerModelList.add(mohamed);
+        ));
     }
 
     @Override
     public List<CustomerModel> selectAllUsers() {
-        return customerModelList;
+        return customersById.values()
+                .stream()
+                .map(CustomerModel::new)
+                .collect(Collectors.toList());
     }
 
     @Override
     public Optional<CustomerModel> selectCustomerByID(Long id) {
-        return customerModelList.stream()
-                .filter(customerModel -> customerModel.getId().equals(id))
-                .findFirst();
+        return Optional.ofNullable(customersById.get(id)).map(CustomerModel::new);
+    }
+
+    @Override
+    public List<CustomerModelDTO> selectCustomerDTOsAfterId(Long lastSeenId, int limit) {
+        return customersById.tailMap(lastSeenId, false)
+                .values()
+                .stream()
+                .limit(limit)
+                .map(customerModelDTOMapper)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public void insertCustomer(CustomerModel customerModel) {
-        customerModelList.add(customerModel);
+    public Optional<CustomerModelDTO> selectCustomerDTOByID(Long id) {
+        return Optional.ofNullable(customersById.get(id)).map(customerModelDTOMapper);
+    }
+
+    @Override
+    public synchronized Long insertCustomer(CustomerModel customerModel) {
+        if (customerIdsByEmail.containsKey(customerModel.getEmail())) {
+            throw new DuplicateKeyException("Email %S already exists".formatted(customerModel.getEmail()));
+        }
+
+        Long id = idSequence.incrementAndGet();
+        CustomerModel stored = new CustomerModel(customerModel);
+        stored.setId(id);
+
+        customerIdsByEmail.put(stored.getEmail(), id);
+        customersById.put(id, stored);
+
+        customerModel.setId(id);
+        return id;
     }
 
     @Override
     public boolean userEmailExists(String email) {
-        return customerModelList.stream()
-                .anyMatch(c -> c.getEmail().equals(email));
+        return customerIdsByEmail.containsKey(email);
     }
 
     @Override
     public boolean userIDExists(Long id) {
-        return customerModelList.stream()
-                .anyMatch(c -> c.getId().equals(id));
+        return customersById.containsKey(id);
+    }
+
+    @Override
+    public synchronized int deleteCustomerById(Long id) {
+        CustomerModel removed = customersById.remove(id);
+        if (removed == null) {
+            return 0;
+        }
+        customerIdsByEmail.remove(removed.getEmail(), id);
+        return 1;
     }
 
     @Override
-    public void deleteCustomerById(Long id) {
-        customerModelList.removeIf(c -> c.getId().equals(id));
+    public synchronized int updateCustomer(CustomerModel customerModel) {
+        CustomerModel existing = customersById.get(customerModel.getId());
+        if (existing == null) {
+            return 0;
+        }
+
+        // null fields are left unchanged, matching the JDBC partial update
+        CustomerModel updated = new CustomerModel(existing);
+
+        if (customerModel.getName() != null) {
+            updated.setName(customerModel.getName());
+        }
+
+        if (customerModel.getEmail() != null && !customerModel.getEmail().equals(existing.getEmail())) {
+            if (customerIdsByEmail.containsKey(customerModel.getEmail())) {
+                throw new DuplicateKeyException("Email %S already exists".formatted(customerModel.getEmail()));
+            }
+            updated.setEmail(customerModel.getEmail());
+            customerIdsByEmail.put(updated.getEmail(), updated.getId());
+            customerIdsByEmail.remove(existing.getEmail(), existing.getId());
+        }
+
+        if (customerModel.getAge() != null) {
+            updated.setAge(customerModel.getAge());
+        }
+
+        customersById.put(updated.getId(), updated);
+        return 1;
     }
 
     @Override
-    public void updateCustomer(CustomerModel customerModel) {
-        customerModelList.add(customerModel);
+    public synchronized void updateCustomerPassword(Long id, String password) {
+        CustomerModel existing = customersById.get(id);
+        if (existing != null) {
+            CustomerModel updated = new CustomerModel(existing);
+            updated.setPassword(password);
+            customersById.put(id, updated);
+        }
     }
 
     @Override
     public Optional<CustomerModel> getCustomerByEmail(String email) {
-        return customerModelList.stream()
-                .filter(customerModel -> customerModel.getEmail().equals(email))
-                .findFirst();
+        Long id = customerIdsByEmail.get(email);
+        return id == null ? Optional.empty() : selectCustomerByID(id);
     }
 }
@@ -2,29 +2,32 @@ package com.example.springbootexample.customer;
 
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 @Entity
 @Table(
         name = "customer",
         uniqueConstraints = {
                 @UniqueConstraint(
-                        name = "customer_email_unique",
+                        name = CustomerModel.EMAIL_UNIQUE_CONSTRAINT,
                         columnNames = "email"
                 )
         }
 )
 public class CustomerModel implements UserDetails {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "customer_email_unique";
+
+    // must match the sequence increment set in V7__pooled_customer_id_sequence.sql
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @SequenceGenerator(
             name = "customer_id_seq",
             sequenceName = "customer_id_seq",
-            allocationSize = 1
+            allocationSize = ID_ALLOCATION_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -71,6 +74,10 @@ public class CustomerModel implements UserDetails {
         this.gender = gender;
     }
 
+    public CustomerModel(CustomerModel other) {
+        this(other.id, other.name, other.password, other.email, other.age, other.gender);
+    }
+
     public CustomerModel(String name, String password, String email, Integer age, String gender) {
         this.name = name;
         this.password = password;
@@ -154,9 +161,13 @@ public class CustomerModel implements UserDetails {
                 '}';
     }
 
+    public CustomerRoles roles() {
+        return CustomerRoles.USER;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return roles().authorities();
     }
 
     @Override
@@ -164,6 +175,10 @@ public class CustomerModel implements UserDetails {
         return password;
     }
 
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -11,4 +11,9 @@ public record CustomerModelDTO(
         List<String> roles,
         String userName
 ) {
+
+    // every customer holds the USER roles and signs in with their email; used by the password-free projections
+    public CustomerModelDTO(Long id, String name, String email, String gender, Integer age) {
+        this(id, name, email, gender, age, CustomerRoles.USER.names(), email);
+    }
 }
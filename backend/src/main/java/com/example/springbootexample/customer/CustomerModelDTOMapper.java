@@ -1,10 +1,8 @@
 package com.example.springbootexample.customer;
 
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Service
 public class CustomerModelDTOMapper implements Function<CustomerModel, CustomerModelDTO> {
@@ -16,10 +14,7 @@ public class CustomerModelDTOMapper implements Function<CustomerModel, CustomerM
                 customer.getEmail(),
                 customer.getGender(),
                 customer.getAge(),
-                customer.getAuthorities()
-                        .stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toList()),
+                customer.roles().names(),
                 customer.getEmail()
         );
     }
@@ -0,0 +1,9 @@
+package com.example.springbootexample.customer;
+
+import java.util.List;
+
+public record CustomerPage(
+        List<CustomerModelDTO> customers,
+        String nextCursor
+) {
+}
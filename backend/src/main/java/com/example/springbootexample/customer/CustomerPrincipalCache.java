@@ -0,0 +1,67 @@
+package com.example.springbootexample.customer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Principals for the JWT filters, keyed by email. Entries carry the username and authorities only,
+ * the password hash is erased before caching. Writes evict by email key, which also waits out a
+ * load already in flight for that email so it cannot put a stale principal back.
+ */
+@Component
+public class CustomerPrincipalCache {
+
+    private final CustomerUserDetailsService customerUserDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public CustomerPrincipalCache(CustomerUserDetailsService customerUserDetailsService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${customer.principal-cache.max-size:10000}") long maxSize,
+                                  @Value("${customer.principal-cache.ttl:5m}") Duration ttl) {
+        this.customerUserDetailsService = customerUserDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "customerPrincipals");
+    }
+
+    public UserDetails getPrincipal(String email) {
+        return principals.get(email, this::loadPrincipal);
+    }
+
+    public void invalidate(String... emails) {
+        for (String email : emails) {
+            if (email != null) {
+                principals.invalidate(email);
+            }
+        }
+    }
+
+    @EventListener
+    public void onCustomerChange(CustomerChangeEvent event) {
+        invalidate(event.email(), event.previousEmail());
+    }
+
+    @EventListener
+    public void onCacheReset(CustomerCacheResetEvent event) {
+        principals.invalidateAll();
+    }
+
+    private UserDetails loadPrincipal(String email) {
+        User principal = (User) User.withUserDetails(customerUserDetailsService.loadUserByUsername(email)).build();
+        principal.eraseCredentials();
+        return principal;
+    }
+}
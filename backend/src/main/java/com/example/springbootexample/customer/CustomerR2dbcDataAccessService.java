@@ -0,0 +1,181 @@
+package com.example.springbootexample.customer;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Repository("R2DBC")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CustomerR2dbcDataAccessService {
+
+    private final DatabaseClient databaseClient;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final int fetchSize;
+
+    public CustomerR2dbcDataAccessService(DatabaseClient databaseClient,
+                                          CustomerEmailFilter customerEmailFilter,
+                                          @Value("${customer.export.fetch-size:1000}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.customerEmailFilter = customerEmailFilter;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<CustomerModelDTO> selectCustomerDTOsAfterId(Long lastSeenId, int limit) {
+        var sql = """
+                SELECT %s FROM customer
+                WHERE id > :lastSeenId
+                ORDER BY id
+                LIMIT :limit
+                """.formatted(CustomerDTORowMapper.COLUMNS);
+
+        return databaseClient.sql(sql)
+                .bind("lastSeenId", lastSeenId)
+                .bind("limit", limit)
+                .map(CustomerR2dbcDataAccessService::mapCustomerDTO)
+                .all();
+    }
+
+    public Flux<CustomerModelDTO> streamCustomerDTOsAfterId(Long lastSeenId) {
+        var sql = """
+                SELECT %s FROM customer
+                WHERE id > :lastSeenId
+                ORDER BY id
+                """.formatted(CustomerDTORowMapper.COLUMNS);
+
+        // rows are pulled from the portal fetchSize at a time, only as fast as the subscriber requests them
+        return databaseClient.sql(sql)
+                .bind("lastSeenId", lastSeenId)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(CustomerR2dbcDataAccessService::mapCustomerDTO)
+                .all();
+    }
+
+    public Mono<CustomerModelDTO> selectCustomerDTOByID(Long id) {
+        var sql = """
+                SELECT %s FROM customer
+                WHERE id = :id
+                """.formatted(CustomerDTORowMapper.COLUMNS);
+
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map(CustomerR2dbcDataAccessService::mapCustomerDTO)
+                .one();
+    }
+
+    public Mono<Long> insertCustomer(CustomerModel customerModel) {
+        var sql = """
+                INSERT INTO customer(name, password, email, age, gender)
+                VALUES(:name, :password, :email, :age, :gender)
+                RETURNING id
+                """;
+
+        // a taken email surfaces as DuplicateKeyException from customer_email_unique
+        return databaseClient.sql(sql)
+                .bind("name", customerModel.getName())
+                .bind("password", customerModel.getPassword())
+                .bind("email", customerModel.getEmail())
+                .bind("age", customerModel.getAge())
+                .bind("gender", customerModel.getGender())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .doOnNext(id -> customerEmailFilter.put(customerModel.getEmail()));
+    }
+
+    public Mono<Boolean> userEmailExists(String email) {
+        if (!customerEmailFilter.mightContain(email)) {
+            return Mono.just(false);
+        }
+
+        var sql = """
+                SELECT EXISTS(SELECT 1 FROM customer WHERE email = :email)
+                """;
+        return databaseClient.sql(sql)
+                .bind("email", email)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    /**
+     * Emits the deleted customer's email, or completes empty when the id does not exist.
+     */
+    public Mono<String> deleteCustomerById(Long id) {
+        var sql = """
+                DELETE FROM customer WHERE id = :id RETURNING email
+                """;
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map(row -> row.get(0, String.class))
+                .one();
+    }
+
+    /**
+     * Emits the customer's email from before the update, or completes empty when the id does not
+     * exist or there is nothing to update.
+     */
+    public Mono<String> updateCustomer(CustomerModel customerModel) {
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+
+        if (customerModel.getName() != null) {
+            columns.put("name", customerModel.getName());
+        }
+
+        if (customerModel.getEmail() != null) {
+            columns.put("email", customerModel.getEmail());
+        }
+
+        if (customerModel.getAge() != null) {
+            columns.put("age", customerModel.getAge());
+        }
+
+        if (columns.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringJoiner setClause = new StringJoiner(", ");
+        columns.keySet().forEach(column -> setClause.add(column + " = :" + column));
+
+        // RETURNING only sees the new row, the locked self-join keeps the old email
+        var sql = """
+                UPDATE customer SET %s
+                FROM (SELECT id, email FROM customer WHERE id = :id FOR UPDATE) previous
+                WHERE customer.id = previous.id
+                RETURNING previous.email
+                """.formatted(setClause);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("id", customerModel.getId());
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            spec = spec.bind(column.getKey(), column.getValue());
+        }
+
+        return spec.map(row -> row.get(0, String.class))
+                .one()
+                .doOnNext(previousEmail -> {
+                    if (customerModel.getEmail() != null) {
+                        customerEmailFilter.put(customerModel.getEmail());
+                    }
+                });
+    }
+
+    // same column order as CustomerDTORowMapper, R2DBC indexes are zero based
+    static CustomerModelDTO mapCustomerDTO(Readable row) {
+        String email = row.get(2, String.class);
+        return new CustomerModelDTO(
+                row.get(0, Long.class),
+                row.get(1, String.class),
+                email,
+                row.get(3, String.class),
+                row.get(4, Integer.class),
+                CustomerRoles.USER.names(),
+                email
+        );
+    }
+}
@@ -8,15 +8,19 @@ import java.sql.SQLException;
 
 @Component
 public class CustomerRawMapper implements RowMapper<CustomerModel> {
+
+    // column order must match the indexes read in mapRow
+    static final String COLUMNS = "id, name, password, email, age, gender";
+
     @Override
     public CustomerModel mapRow(ResultSet rs, int rowNum) throws SQLException {
         return new CustomerModel(
-                rs.getLong("id"),
-                rs.getString("name"),
-                rs.getString("password"),
-                rs.getString("email"),
-                rs.getInt("age"),
-                rs.getString("gender")
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getInt(5),
+                rs.getString(6)
         );
     }
 }
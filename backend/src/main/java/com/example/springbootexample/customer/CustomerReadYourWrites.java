@@ -0,0 +1,102 @@
+package com.example.springbootexample.customer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers customers written in the last {@code window} so their reads go to the primary
+ * instead of a replica that may not have replayed the write yet. Covers the writer itself
+ * (by authenticated email) and anyone reading the written customer by id or email.
+ * Writes by other nodes arrive through {@link CustomerChangeEvent}.
+ */
+@Component
+public class CustomerReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWrites;
+
+    public CustomerReadYourWrites(@Value("${customer.datasource.read-your-writes.window:5s}") Duration window,
+                                  @Value("${customer.datasource.read-your-writes.max-size:100000}") long maxSize) {
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public void recordWrite(Long id, String email) {
+        if (id != null) {
+            recentWrites.put(idKey(id), Boolean.TRUE);
+        }
+        if (email != null) {
+            recentWrites.put(emailKey(email), Boolean.TRUE);
+        }
+        String principal = currentPrincipal();
+        if (principal != null) {
+            recentWrites.put(emailKey(principal), Boolean.TRUE);
+        }
+    }
+
+    public <T> T readById(Long id, Supplier<T> query) {
+        return read(idKey(id), query);
+    }
+
+    public <T> T readByEmail(String email, Supplier<T> query) {
+        return read(emailKey(email), query);
+    }
+
+    /**
+     * Whether the read about to take a connection must see the primary.
+     */
+    public boolean requiresPrimary() {
+        if (Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+            return true;
+        }
+        String principal = currentPrincipal();
+        return principal != null && recentWrites.getIfPresent(emailKey(principal)) != null;
+    }
+
+    @EventListener
+    public void onCustomerChange(CustomerChangeEvent event) {
+        recentWrites.put(idKey(event.id()), Boolean.TRUE);
+        if (event.email() != null) {
+            recentWrites.put(emailKey(event.email()), Boolean.TRUE);
+        }
+        if (event.previousEmail() != null) {
+            recentWrites.put(emailKey(event.previousEmail()), Boolean.TRUE);
+        }
+    }
+
+    private <T> T read(String key, Supplier<T> query) {
+        if (Boolean.TRUE.equals(PRIMARY_REQUIRED.get()) || recentWrites.getIfPresent(key) == null) {
+            return query.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    private static String idKey(Long id) {
+        return "id:" + id;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.springbootexample.customer;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The role sets a customer can hold. Each constant builds its immutable name and
+ * authority lists once, so every customer with the same roles shares the same instances.
+ */
+public enum CustomerRoles {
+
+    USER("ROLE_USER");
+
+    private final List<String> names;
+    private final List<GrantedAuthority> authorities;
+
+    CustomerRoles(String... roles) {
+        this.names = List.of(roles);
+        this.authorities = Arrays.stream(roles)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+}
@@ -4,24 +4,33 @@ import com.example.springbootexample.exception.ResourceDuplicationException;
 import com.example.springbootexample.exception.ResourceNotFoundException;
 import com.example.springbootexample.exception.ResourceValidationException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
     private final CustomerDAO customerDAO;
     private final PasswordEncoder passwordEncoder;
 
     private final CustomerModelDTOMapper customerModelDTOMapper;
 
-    public CustomerService(@Qualifier("JDBC") CustomerDAO customerDAO, PasswordEncoder passwordEncoder, CustomerModelDTOMapper customerModelDTOMapper) {
+    private final CustomerPrincipalCache customerPrincipalCache;
+
+    public CustomerService(@Qualifier("Cached") CustomerDAO customerDAO, PasswordEncoder passwordEncoder, CustomerModelDTOMapper customerModelDTOMapper, CustomerPrincipalCache customerPrincipalCache) {
         this.customerDAO = customerDAO;
         this.passwordEncoder = passwordEncoder;
         this.customerModelDTOMapper = customerModelDTOMapper;
+        this.customerPrincipalCache = customerPrincipalCache;
     }
 
     public List<CustomerModelDTO> getAllCustomer() {
@@ -30,17 +39,51 @@ public class CustomerService {
                 .map(customerModelDTOMapper).collect(Collectors.toList());
     }
 
+    public CustomerPage getCustomerPage(String cursor, Integer size) {
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResourceValidationException("Page size must be between 1 and %S".formatted(MAX_PAGE_SIZE));
+        }
+
+        // fetch one extra row to know whether another page exists without a COUNT query
+        List<CustomerModelDTO> customers = customerDAO.selectCustomerDTOsAfterId(decodeCursor(cursor), pageSize + 1);
+
+        String nextCursor = null;
+        if (customers.size() > pageSize) {
+            customers = customers.subList(0, pageSize);
+            nextCursor = encodeCursor(customers.get(pageSize - 1).id());
+        }
+
+        return new CustomerPage(customers, nextCursor);
+    }
+
+    private static String encodeCursor(Long lastSeenId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(lastSeenId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResourceValidationException("Invalid page cursor [%S]".formatted(cursor));
+        }
+    }
+
     public CustomerModelDTO getCustomer(Long id) {
-        return customerDAO.selectCustomerByID(id)
-                .map(customerModelDTOMapper)
+        return customerDAO.selectCustomerDTOByID(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer id [%S] not found".formatted(id)));
     }
 
-    public void insertCustomer(CustomerRegisterRequest customerRegisterRequest) {
+    public Long insertCustomer(CustomerRegisterRequest customerRegisterRequest) {
 
-        String customerEmail = customerRegisterRequest.email();
-
-        if (customerDAO.userEmailExists(customerEmail)) {
+        // the email filter answers most new emails without a query, so a taken one is rejected before hashing
+        if (customerDAO.userEmailExists(customerRegisterRequest.email())) {
             throw new ResourceDuplicationException("Email Already Token");
         }
 
@@ -52,14 +95,23 @@ public class CustomerService {
                 customerRegisterRequest.gender()
         );
 
-        customerDAO.insertCustomer(newCustomer);
+        try {
+            return customerDAO.insertCustomer(newCustomer);
+        } catch (DuplicateKeyException e) {
+            // a concurrent registration took the email between the check and the insert
+            throw new ResourceDuplicationException("Email Already Token");
+        }
     }
 
     public void deleteCustomer(Long id) {
-        if (!customerDAO.userIDExists(id)) {
+        // principals are keyed by email, the cached select is the cheap way to learn it
+        CustomerModel customerModel = customerDAO.selectCustomerByID(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer id [%S] not found".formatted(id)));
+
+        if (customerDAO.deleteCustomerById(id) == 0) {
             throw new ResourceNotFoundException("Customer id [%S] not found".formatted(id));
         }
-        customerDAO.deleteCustomerById(id);
+        customerPrincipalCache.invalidate(customerModel.getEmail());
     }
 
     public void updateCustomer(Long id, CustomerUpdateRequest customerUpdateRequest) {
@@ -71,6 +123,7 @@ public class CustomerService {
 
         System.out.println("customerModel in updateCustomer service  = " + customerModel);
 
+        String previousEmail = customerModel.getEmail();
         boolean anyChange = false;
 
         if (customerUpdateRequest.name() != null && !customerUpdateRequest.name().equals(customerModel.getName())) {
@@ -105,7 +158,19 @@ public class CustomerService {
             throw new ResourceValidationException("No Data Changes");
         }
 
-        customerDAO.updateCustomer(customerModel);
+        int updated;
+        try {
+            updated = customerDAO.updateCustomer(customerModel);
+        } catch (DuplicateKeyException e) {
+            // another customer took the email after the check above
+            throw new ResourceDuplicationException("Email Already Token");
+        }
+
+        if (updated == 0) {
+            // deleted concurrently between the select above and the update
+            throw new ResourceNotFoundException("Customer id [%S] not found".formatted(id));
+        }
+        customerPrincipalCache.invalidate(previousEmail, customerModel.getEmail());
     }
 
     public CustomerModel getCustomerByEmail(String email) {
@@ -2,16 +2,17 @@ package com.example.springbootexample.customer;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomerUserDetailsService implements UserDetailsService {
+public class CustomerUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final CustomerDAO customerDAO;
 
-    public CustomerUserDetailsService(@Qualifier("JPA") CustomerDAO customerDAO) {
+    public CustomerUserDetailsService(@Qualifier("Cached") CustomerDAO customerDAO) {
         this.customerDAO = customerDAO;
     }
 
@@ -20,4 +21,14 @@ public class CustomerUserDetailsService implements UserDetailsService {
         return customerDAO.getCustomerByEmail(email).orElseThrow(() ->
                 new UsernameNotFoundException("Email %S not found".formatted(email)));
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomerModel customerModel = (CustomerModel) user;
+
+        customerDAO.updateCustomerPassword(customerModel.getId(), newPassword);
+        customerModel.setPassword(newPassword);
+
+        return customerModel;
+    }
 }
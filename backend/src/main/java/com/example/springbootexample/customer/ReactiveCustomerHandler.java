@@ -0,0 +1,79 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.exception.ResourceValidationException;
+import com.example.springbootexample.jwt.JWTUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerHandler {
+
+    private final JWTUtil jwtUtil;
+    private final ReactiveCustomerService reactiveCustomerService;
+
+    public ReactiveCustomerHandler(JWTUtil jwtUtil, ReactiveCustomerService reactiveCustomerService) {
+        this.jwtUtil = jwtUtil;
+        this.reactiveCustomerService = reactiveCustomerService;
+    }
+
+    public Mono<ServerResponse> getCustomers(ServerRequest request) {
+        String cursor = request.queryParam("cursor").orElse(null);
+        Integer size = request.queryParam("size").map(ReactiveCustomerHandler::parseSize).orElse(null);
+
+        // NDJSON lets every row be written as soon as it is read instead of collecting a JSON array
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reactiveCustomerService.getCustomers(cursor, size), CustomerModelDTO.class);
+    }
+
+    public Mono<ServerResponse> getCustomer(ServerRequest request) {
+        return reactiveCustomerService.getCustomer(customerId(request))
+                .flatMap(customer -> ServerResponse.ok().bodyValue(customer));
+    }
+
+    public Mono<ServerResponse> insertCustomer(ServerRequest request) {
+        return request.bodyToMono(CustomerRegisterRequest.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceValidationException("Request body is required")))
+                .flatMap(customerRegisterRequest -> reactiveCustomerService.insertCustomer(customerRegisterRequest)
+                        .flatMap(id -> ServerResponse.created(request.uriBuilder().path("/{id}").build(id))
+                                .header(HttpHeaders.AUTHORIZATION,
+                                        jwtUtil.issueToken(customerRegisterRequest.email(), CustomerRoles.USER.names()))
+                                .build()));
+    }
+
+    public Mono<ServerResponse> deleteCustomer(ServerRequest request) {
+        return reactiveCustomerService.deleteCustomer(customerId(request))
+                .then(ServerResponse.ok().build());
+    }
+
+    public Mono<ServerResponse> updateCustomer(ServerRequest request) {
+        Long id = customerId(request);
+        return request.bodyToMono(CustomerUpdateRequest.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceValidationException("Request body is required")))
+                .flatMap(customerUpdateRequest -> reactiveCustomerService.updateCustomer(id, customerUpdateRequest))
+                .then(ServerResponse.ok().build());
+    }
+
+    private static Long customerId(ServerRequest request) {
+        String id = request.pathVariable("id");
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new ResourceValidationException("Invalid customer id [%S]".formatted(id));
+        }
+    }
+
+    private static Integer parseSize(String size) {
+        try {
+            return Integer.valueOf(size);
+        } catch (NumberFormatException e) {
+            throw new ResourceValidationException("Invalid page size [%S]".formatted(size));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.springbootexample.customer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> customerRoutes(ReactiveCustomerHandler reactiveCustomerHandler) {
+        return RouterFunctions.route()
+                .path("/api/v1/customers", builder -> builder
+                        .GET("", reactiveCustomerHandler::getCustomers)
+                        .GET("/{id}", reactiveCustomerHandler::getCustomer)
+                        .POST("", reactiveCustomerHandler::insertCustomer)
+                        .PUT("/{id}", reactiveCustomerHandler::updateCustomer)
+                        .DELETE("/{id}", reactiveCustomerHandler::deleteCustomer))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.exception.ResourceDuplicationException;
+import com.example.springbootexample.exception.ResourceNotFoundException;
+import com.example.springbootexample.exception.ResourceValidationException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Set;
+
+import static com.example.springbootexample.customer.CustomerService.MAX_PAGE_SIZE;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerService {
+
+    private final CustomerR2dbcDataAccessService customerR2dbcDataAccessService;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final CustomerPrincipalCache customerPrincipalCache;
+
+    public ReactiveCustomerService(CustomerR2dbcDataAccessService customerR2dbcDataAccessService,
+                                   PasswordEncoder passwordEncoder,
+                                   Validator validator,
+                                   CustomerPrincipalCache customerPrincipalCache) {
+        this.customerR2dbcDataAccessService = customerR2dbcDataAccessService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.customerPrincipalCache = customerPrincipalCache;
+    }
+
+    public Flux<CustomerModelDTO> getCustomers(String cursor, Integer size) {
+        Long lastSeenId = CustomerService.decodeCursor(cursor);
+
+        if (size == null) {
+            return customerR2dbcDataAccessService.streamCustomerDTOsAfterId(lastSeenId);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Flux.error(new ResourceValidationException("Page size must be between 1 and %S".formatted(MAX_PAGE_SIZE)));
+        }
+        return customerR2dbcDataAccessService.selectCustomerDTOsAfterId(lastSeenId, size);
+    }
+
+    public Mono<CustomerModelDTO> getCustomer(Long id) {
+        return customerR2dbcDataAccessService.selectCustomerDTOByID(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer id [%S] not found".formatted(id))));
+    }
+
+    public Mono<Long> insertCustomer(CustomerRegisterRequest customerRegisterRequest) {
+
+        Set<ConstraintViolation<CustomerRegisterRequest>> violations = validator.validate(customerRegisterRequest);
+        if (!violations.isEmpty()) {
+            return Mono.error(new ResourceValidationException("Total validation errors is %S, First error is %S"
+                    .formatted(violations.size(), violations.iterator().next().getMessage())));
+        }
+
+        // the email filter answers most new emails without a query, so a taken one is rejected before hashing;
+        // bcrypt blocks for a calibrated ~250ms, it must never run on an event-loop thread
+        return customerR2dbcDataAccessService.userEmailExists(customerRegisterRequest.email())
+                .flatMap(exists -> exists
+                        ? Mono.<String>error(new ResourceDuplicationException("Email Already Token"))
+                        : Mono.fromCallable(() -> passwordEncoder.encode(customerRegisterRequest.password()))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                .map(password -> new CustomerModel(
+                        customerRegisterRequest.name(),
+                        password,
+                        customerRegisterRequest.email(),
+                        customerRegisterRequest.age(),
+                        customerRegisterRequest.gender()
+                ))
+                .flatMap(customerR2dbcDataAccessService::insertCustomer)
+                // a concurrent registration can still take the email between the check and the insert
+                .onErrorMap(DuplicateKeyException.class, e -> new ResourceDuplicationException("Email Already Token"));
+    }
+
+    public Mono<Void> deleteCustomer(Long id) {
+        return customerR2dbcDataAccessService.deleteCustomerById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer id [%S] not found".formatted(id))))
+                .flatMap(email -> Mono.fromRunnable(() -> customerPrincipalCache.invalidate(email)));
+    }
+
+    public Mono<Void> updateCustomer(Long id, CustomerUpdateRequest customerUpdateRequest) {
+
+        if (customerUpdateRequest.name() == null && customerUpdateRequest.email() == null && customerUpdateRequest.age() == null) {
+            return Mono.error(new ResourceValidationException("No Data Changes"));
+        }
+
+        CustomerModel customerModel = new CustomerModel();
+        customerModel.setId(id);
+        customerModel.setName(customerUpdateRequest.name());
+        customerModel.setEmail(customerUpdateRequest.email());
+        customerModel.setAge(customerUpdateRequest.age());
+
+        // a single UPDATE, the unique constraint decides a taken email instead of a check-then-act round trip
+        return customerR2dbcDataAccessService.updateCustomer(customerModel)
+                .onErrorMap(DuplicateKeyException.class, e -> new ResourceDuplicationException("Email Already Token"))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Customer id [%S] not found".formatted(id))))
+                .flatMap(previousEmail -> Mono.fromRunnable(
+                        () -> customerPrincipalCache.invalidate(previousEmail, customerUpdateRequest.email())));
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.springbootexample.exception.customHandler;
 
+import com.example.springbootexample.exception.PasswordHashingUnavailableException;
 import com.example.springbootexample.exception.ResourceDuplicationException;
 import com.example.springbootexample.exception.ResourceNotFoundException;
 import com.example.springbootexample.exception.ResourceValidationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,6 +22,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import java.time.LocalDateTime;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ResourceDuplicationException.class)
@@ -65,6 +69,25 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(errorDetails, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public final ResponseEntity<ErrorDetails> handlePasswordHashingUnavailableException(Exception ex, WebRequest request) {
+
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
+    @ExceptionHandler(CannotGetJdbcConnectionException.class)
+    public final ResponseEntity<ErrorDetails> handleCannotGetJdbcConnectionException(Exception ex, WebRequest request) {
+
+        // the connection pool stayed exhausted for the whole connection-timeout
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), "Database is busy, please retry", request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<ErrorDetails> handleAllException(Exception ex, WebRequest request) {
 
@@ -1,10 +1,11 @@
 package com.example.springbootexample.jwt;
 
-import com.example.springbootexample.customer.CustomerUserDetailsService;
+import com.example.springbootexample.customer.CustomerPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,14 +17,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JWTUtil jwtUtil;
-    private final CustomerUserDetailsService detailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final CustomerPrincipalCache principalCache;
 
-    public JWTAuthenticationFilter(JWTUtil jwtUtil, CustomerUserDetailsService detailsService) {
-        this.jwtUtil = jwtUtil;
-        this.detailsService = detailsService;
+    public JWTAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, CustomerPrincipalCache principalCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -38,10 +40,11 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         String jwt = authHeader.substring(7);
-        String subject = jwtUtil.getSubject(jwt);
+        VerifiedToken verifiedToken = verifiedTokenCache.verify(jwt);
+        String subject = verifiedToken.subject();
         if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = detailsService.loadUserByUsername(subject);
-            if (jwtUtil.isTokenValid(jwt, userDetails.getUsername())) {
+            UserDetails userDetails = principalCache.getPrincipal(subject);
+            if (verifiedToken.isValidFor(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -0,0 +1,58 @@
+package com.example.springbootexample.jwt;
+
+import com.example.springbootexample.customer.CustomerPrincipalCache;
+import io.jsonwebtoken.JwtException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class JWTReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final CustomerPrincipalCache principalCache;
+
+    public JWTReactiveAuthenticationManager(VerifiedTokenCache verifiedTokenCache, CustomerPrincipalCache principalCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
+    }
+
+    public static Mono<Authentication> bearerToken(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+        return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(null, authHeader.substring(7)));
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = verifiedTokenCache.verify((String) authentication.getCredentials());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Mono.error(new BadCredentialsException("Invalid token", e));
+        }
+
+        String subject = verifiedToken.subject();
+        if (subject == null) {
+            return Mono.error(new BadCredentialsException("Token has no subject"));
+        }
+
+        // a principal cache miss loads the customer over JDBC, keep that off the event loop
+        return Mono.fromCallable(() -> principalCache.getPrincipal(subject))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(userDetails -> verifiedToken.isValidFor(userDetails.getUsername()))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Token is not valid for [%S]".formatted(subject))))
+                .map(userDetails -> UsernamePasswordAuthenticationToken.authenticated(
+                        userDetails, null, userDetails.getAuthorities()));
+    }
+}
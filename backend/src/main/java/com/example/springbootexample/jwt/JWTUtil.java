@@ -1,12 +1,13 @@
 package com.example.springbootexample.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
@@ -19,9 +20,11 @@ public class JWTUtil {
 
     public static final String SECRET_KEY = "spring-Boot-example-fullstack-token-secret-key";
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
+    private final SecretKey signKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+
+    private final JwtParser jwtParser = Jwts.parser()
+            .verifyWith(signKey)
+            .build();
 
     public String issueToken(String subject, Map<String, Object> claims) {
 
@@ -31,7 +34,7 @@ public class JWTUtil {
                 .setIssuer("Spring-Boot-example-fullstack")
                 .setIssuedAt(Date.from(Instant.now()))
                 .setExpiration(Date.from(Instant.now().plus(15, DAYS)))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -46,25 +49,31 @@ public class JWTUtil {
         return issueToken(subject, Map.of("scopes", scopes));
     }
 
-    public String getSubject(String token) {
-        return getClaims(token).getSubject();
+    public VerifiedToken verify(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpiration().toInstant(),
+                getScopes(claims)
+        );
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser().setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static List<String> getScopes(Claims claims) {
+        if (!(claims.get("scopes") instanceof List<?> scopes)) {
+            return List.of();
+        }
+        return scopes.stream()
+                .map(String::valueOf)
+                .toList();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date today = Date.from(Instant.now());
-        return getClaims(token).getExpiration().before(today);
+    public String getSubject(String token) {
+        return verify(token).subject();
     }
 
     public boolean isTokenValid(String token, String userName) {
-        String subject = getSubject(token);
-        return subject.equals(userName) && !isTokenExpired(token);
+        return verify(token).isValidFor(userName);
     }
 
 }
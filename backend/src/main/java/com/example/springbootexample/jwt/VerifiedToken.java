@@ -0,0 +1,23 @@
+package com.example.springbootexample.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+public record VerifiedToken(
+        String subject,
+        Instant expiration,
+        List<String> scopes
+) {
+
+    public VerifiedToken {
+        scopes = List.copyOf(scopes);
+    }
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+
+    public boolean isValidFor(String userName) {
+        return subject.equals(userName) && !isExpired();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.springbootexample.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+@Component
+public class VerifiedTokenCache {
+
+    private final JWTUtil jwtUtil;
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public VerifiedTokenCache(JWTUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.token-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.token-cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.token-cache.ttl:10m}") Duration ttl) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+        Gauge.builder("jwt.token.cache.hit.rate", verifiedTokens, cache -> cache.stats().hitRate())
+                .description("Share of bearer tokens served without signature verification")
+                .register(meterRegistry);
+    }
+
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtUtil.verify(token);
+        }
+        // only tokens that passed jwtUtil.verify are ever stored, the key covers the signature
+        return verifiedTokens.get(digest(token), key -> jwtUtil.verify(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record TokenExpiry(Duration ttl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long untilTokenExpires = Duration.between(Instant.now(), token.expiration()).toNanos();
+            return Math.max(0, Math.min(ttl.toNanos(), untilTokenExpires));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
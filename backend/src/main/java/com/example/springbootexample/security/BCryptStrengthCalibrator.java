@@ -0,0 +1,44 @@
+package com.example.springbootexample.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public final class BCryptStrengthCalibrator {
+
+    static final int MAX_STRENGTH = 16;
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength) {
+        long baselineNanos = measure(minStrength);
+
+        // every extra bcrypt round doubles the hashing time
+        int extraRounds = 0;
+        while (minStrength + extraRounds < MAX_STRENGTH
+                && baselineNanos << (extraRounds + 1) <= targetLatency.toNanos()) {
+            extraRounds++;
+        }
+
+        int strength = minStrength + extraRounds;
+        System.out.println("BCrypt strength calibrated to %S (%S ms at strength %S, target %S ms)"
+                .formatted(strength, baselineNanos / 1_000_000, minStrength, targetLatency.toMillis()));
+        return strength;
+    }
+
+    static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String password = UUID.randomUUID().toString();
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(password);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest;
+    }
+}
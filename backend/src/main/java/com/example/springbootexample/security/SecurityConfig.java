@@ -1,34 +1,71 @@
 package com.example.springbootexample.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 public class SecurityConfig {
 
+    public static final String BCRYPT_ID = "bcrypt";
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt.strength:0}") int strength,
+                                           @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${security.password.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${security.password.hashing.pool-size:0}") int poolSize,
+                                           @Value("${security.password.hashing.queue-capacity:100}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+
+        return new BoundedPasswordEncoder(
+                bcryptPasswordEncoder(strength, minStrength, targetLatency),
+                poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                meterRegistry
+        );
+    }
+
+    static PasswordEncoder bcryptPasswordEncoder(int strength, int minStrength, Duration targetLatency) {
+
+        int bcryptStrength = strength > 0 ? strength : BCryptStrengthCalibrator.calibrate(targetLatency, minStrength);
+        BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                BCRYPT_ID, Map.of(BCRYPT_ID, bCryptPasswordEncoder));
+        // hashes stored before the {bcrypt} prefix was introduced, they get upgraded on next login
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bCryptPasswordEncoder);
+        return passwordEncoder;
     }
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         UserDetailsPasswordService userDetailsPasswordService,
+                                                         PasswordEncoder passwordEncoder) {
 
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setPasswordEncoder(passwordEncoder);
         authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authenticationProvider;
     }
 }
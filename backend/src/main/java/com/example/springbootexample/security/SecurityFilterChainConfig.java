@@ -2,8 +2,14 @@ package com.example.springbootexample.security;
 
 
 import com.example.springbootexample.jwt.JWTAuthenticationFilter;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.MetricsEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.Customizer;
@@ -15,6 +21,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 public class SecurityFilterChainConfig {
 
@@ -28,6 +35,24 @@ public class SecurityFilterChainConfig {
         this.authenticationEntryPoint = authenticationEntryPoint;
     }
 
+    // actuator is served on management.server.port, which is not published; scrapers reach it without a customer JWT
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity httpSecurity) throws Exception {
+        httpSecurity.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf().disable()
+                .authorizeHttpRequests()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, MetricsEndpoint.class, PrometheusScrapeEndpoint.class))
+                .permitAll()
+                .anyRequest()
+                .denyAll()
+                .and()
+                .sessionManagement()
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+
+        return httpSecurity.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         httpSecurity.csrf().disable()
@@ -0,0 +1,23 @@
+CREATE OR REPLACE FUNCTION notify_customer_change() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('customer_changes',
+                          json_build_object('op', TG_OP, 'id', NEW.id, 'email', NEW.email)::text);
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM pg_notify('customer_changes',
+                          json_build_object('op', TG_OP, 'id', NEW.id, 'email', NEW.email,
+                                            'previousEmail', OLD.email)::text);
+    ELSE
+        PERFORM pg_notify('customer_changes',
+                          json_build_object('op', TG_OP, 'id', OLD.id, 'previousEmail', OLD.email)::text);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER customer_changes
+    AFTER INSERT OR UPDATE OR DELETE
+    ON customer
+    FOR EACH ROW
+EXECUTE FUNCTION notify_customer_change();
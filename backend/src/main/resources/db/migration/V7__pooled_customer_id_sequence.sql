@@ -0,0 +1,3 @@
+-- one nextval hands Hibernate a block of 50 ids (pooled-lo), it must match CustomerModel.ID_ALLOCATION_SIZE;
+-- plain inserts still take one value per row from the column default, they just skip the rest of the block
+ALTER SEQUENCE customer_id_seq INCREMENT BY 50;
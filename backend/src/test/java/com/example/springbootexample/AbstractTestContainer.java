@@ -1,10 +1,13 @@
 package com.example.springbootexample;
 
 import com.github.javafaker.Faker;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.BeforeAll;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -66,5 +69,21 @@ public abstract class AbstractTestContainer {
         return new JdbcTemplate(getDataSource());
     }
 
+    // a second pool on the same container, like the read pool next to the primary one in DataSourceConfig
+    protected static JdbcTemplate getReadJDBCTemplate() {
+        return new JdbcTemplate(getDataSource());
+    }
+
+    protected static DatabaseClient getDatabaseClient() {
+        return DatabaseClient.create(ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+                .option(ConnectionFactoryOptions.HOST, POSTGRES_SQL_CONTAINER.getHost())
+                .option(ConnectionFactoryOptions.PORT, POSTGRES_SQL_CONTAINER.getFirstMappedPort())
+                .option(ConnectionFactoryOptions.DATABASE, POSTGRES_SQL_CONTAINER.getDatabaseName())
+                .option(ConnectionFactoryOptions.USER, POSTGRES_SQL_CONTAINER.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, POSTGRES_SQL_CONTAINER.getPassword())
+                .build()));
+    }
+
     protected final Faker FAKER = new Faker();
 }
@@ -0,0 +1,129 @@
+package com.example.springbootexample;
+
+import com.example.springbootexample.customer.CustomerReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.annotation.UserConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(UserConfigurations.of(DataSourceConfig.class))
+            .withBean(CustomerReadYourWrites.class, () -> new CustomerReadYourWrites(Duration.ofSeconds(5), 1000))
+            .withConfiguration(AutoConfigurations.of(
+                    MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class,
+                    DataSourcePoolMetricsAutoConfiguration.class))
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://localhost:5332/customer",
+                    "spring.datasource.username=amigoscode",
+                    "spring.datasource.password=password",
+                    "spring.datasource.hikari.pool-name=customer-write",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.datasource.hikari.leak-detection-threshold=60000",
+                    "customer.datasource.read.hikari.pool-name=customer-read",
+                    "customer.datasource.read.hikari.maximum-pool-size=3",
+                    "customer.datasource.read.hikari.connection-timeout=3000",
+                    "customer.datasource.read.hikari.read-only=true",
+                    "customer.datasource.export.hikari.pool-name=customer-export",
+                    "customer.datasource.export.hikari.maximum-pool-size=2",
+                    "customer.datasource.export.hikari.leak-detection-threshold=900000",
+                    "customer.datasource.export.hikari.read-only=true");
+
+    @Test
+    void bindsSeparateWriteAndReadPools() {
+        contextRunner.run(context -> {
+
+            // When
+            HikariDataSource write = (HikariDataSource) context.getBean(DataSource.class);
+            HikariDataSource read = context.getBean("primaryReadDataSource", HikariDataSource.class);
+
+            // Then
+            assertThat(write.getPoolName()).isEqualTo("customer-write");
+            assertThat(write.getMaximumPoolSize()).isEqualTo(7);
+            assertThat(write.getLeakDetectionThreshold()).isEqualTo(60000);
+            assertThat(write.isReadOnly()).isFalse();
+
+            assertThat(read.getPoolName()).isEqualTo("customer-read");
+            assertThat(read.getMaximumPoolSize()).isEqualTo(3);
+            assertThat(read.getConnectionTimeout()).isEqualTo(3000);
+            assertThat(read.isReadOnly()).isTrue();
+            assertThat(read.getJdbcUrl()).isEqualTo(write.getJdbcUrl());
+        });
+    }
+
+    @Test
+    void bindsExportPoolWithItsOwnLeakThreshold() {
+        contextRunner.run(context -> {
+
+            // When
+            HikariDataSource export = context.getBean("exportDataSource", HikariDataSource.class);
+            JdbcTemplate exportJdbcTemplate = context.getBean("exportJdbcTemplate", JdbcTemplate.class);
+
+            // Then
+            assertThat(export.getPoolName()).isEqualTo("customer-export");
+            assertThat(export.getMaximumPoolSize()).isEqualTo(2);
+            assertThat(export.getLeakDetectionThreshold()).isEqualTo(900000);
+            assertThat(export.isReadOnly()).isTrue();
+            assertThat(export.getJdbcUrl()).isEqualTo(context.getBean("dataSource", HikariDataSource.class).getJdbcUrl());
+            assertThat(exportJdbcTemplate.getDataSource()).isSameAs(export);
+        });
+    }
+
+    @Test
+    void readJdbcTemplateUsesReadPool() {
+        contextRunner.run(context -> {
+
+            // When
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            JdbcTemplate readJdbcTemplate = context.getBean("readJdbcTemplate", JdbcTemplate.class);
+
+            // Then
+            assertThat(jdbcTemplate.getDataSource()).isSameAs(context.getBean("dataSource"));
+            assertThat(readJdbcTemplate.getDataSource()).isSameAs(context.getBean("readDataSource"));
+        });
+    }
+
+    @Test
+    void readDataSourceRoutesToPrimaryReadPoolWithoutReplicas() {
+        contextRunner.run(context -> {
+
+            // When
+            ReplicaRoutingDataSource readDataSource = context.getBean("readDataSource", ReplicaRoutingDataSource.class);
+
+            // Then
+            assertThat(readDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+            assertThat(readDataSource.getResolvedDataSources().get(ReplicaRoutingDataSource.PRIMARY))
+                    .isSameAs(context.getBean("primaryReadDataSource"));
+        });
+    }
+
+    @Test
+    void exportsPoolMetricsPerPool() {
+        contextRunner.run(context -> {
+
+            // When
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            // Then
+            assertThat(meterRegistry.get("jdbc.connections.max").tag("name", "dataSource").gauge().value()).isEqualTo(7);
+            assertThat(meterRegistry.get("jdbc.connections.max").tag("name", "primaryRead").gauge().value()).isEqualTo(3);
+            assertThat(meterRegistry.get("jdbc.connections.max").tag("name", "export").gauge().value()).isEqualTo(2);
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.springbootexample;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest extends AbstractTestContainer {
+
+    // a second instance standing in for a streaming replica; it is not in recovery so its lag reads as 0
+    @Container
+    private static final PostgreSQLContainer<?> REPLICA_CONTAINER =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("amigos-dao-replica")
+                    .withUsername("amigos-code")
+                    .withPassword("password");
+
+    private final AtomicBoolean primaryRequired = new AtomicBoolean();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource underTest;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (underTest != null) {
+            underTest.close();
+        }
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer<?> container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    private ReplicaRoutingDataSource routing(List<DataSource> replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                dataSource(POSTGRES_SQL_CONTAINER),
+                replicas,
+                primaryRequired::get,
+                Duration.ofSeconds(1),
+                Duration.ofHours(1),
+                meterRegistry
+        );
+        routing.afterPropertiesSet();
+        routing.probeLag();
+        return routing;
+    }
+
+    private String currentDatabase() {
+        return new JdbcTemplate(underTest).queryForObject("SELECT current_database()", String.class);
+    }
+
+    @Test
+    void readsGoToHealthyReplica() {
+
+        // Given
+        underTest = routing(List.of(dataSource(REPLICA_CONTAINER)));
+
+        // When
+        String database = currentDatabase();
+
+        // Then
+        assertThat(database).isEqualTo(REPLICA_CONTAINER.getDatabaseName());
+        assertThat(meterRegistry.get("customer.datasource.replica.lag").tag("replica", "replica-0").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void readsGoToPrimaryWhenCallerMustReadItsOwnWrites() {
+
+        // Given
+        underTest = routing(List.of(dataSource(REPLICA_CONTAINER)));
+        primaryRequired.set(true);
+
+        // When
+        String database = currentDatabase();
+
+        // Then
+        assertThat(database).isEqualTo(POSTGRES_SQL_CONTAINER.getDatabaseName());
+    }
+
+    @Test
+    void unreachableReplicaIsTakenOutOfRotation() {
+
+        // Given
+        DataSource unreachable = new DriverManagerDataSource(
+                "jdbc:postgresql://localhost:1/missing", "amigos-code", "password");
+        underTest = routing(List.of(unreachable, dataSource(REPLICA_CONTAINER)));
+
+        // When
+        // Then
+        for (int i = 0; i < 4; i++) {
+            assertThat(currentDatabase()).isEqualTo(REPLICA_CONTAINER.getDatabaseName());
+        }
+        assertThat(meterRegistry.get("customer.datasource.replica.lag").tag("replica", "replica-0").gauge().value())
+                .isEqualTo(-1);
+    }
+
+    @Test
+    void readsGoToPrimaryWithoutReplicas() {
+
+        // Given
+        underTest = routing(List.of());
+
+        // When
+        String database = currentDatabase();
+
+        // Then
+        assertThat(database).isEqualTo(POSTGRES_SQL_CONTAINER.getDatabaseName());
+        assertThat(meterRegistry.get("customer.datasource.reads").tag("target", "primary").counter().count())
+                .isEqualTo(1);
+    }
+}
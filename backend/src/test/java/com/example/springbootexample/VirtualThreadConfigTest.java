@@ -0,0 +1,40 @@
+package com.example.springbootexample;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadConfigTest {
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void failsFastBeforeJava21() {
+
+        // When
+        // Then
+        assertThatThrownBy(VirtualThreadConfig::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void runsTasksOnVirtualThreads() throws Exception {
+
+        // Given
+        ExecutorService underTest = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+
+        // When
+        boolean virtual = underTest.submit(() ->
+                (boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get();
+        underTest.shutdown();
+
+        // Then
+        assertThat(virtual).isTrue();
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.springbootexample.customer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCachingDataAccessServiceTest {
+
+    private CustomerCachingDataAccessService underTest;
+
+    @Mock
+    private CustomerDAO delegate;
+
+    private final CustomerModel customerModel = new CustomerModel(
+            1L,
+            "Islam",
+            "password", "islam@gmail.com",
+            26,
+            "Male"
+    );
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerCachingDataAccessService(
+                delegate,
+                new SimpleMeterRegistry(),
+                100,
+                Duration.ofMinutes(1)
+        );
+    }
+
+    @Test
+    void selectCustomerDTOByIDLoadsProjectionFromDelegateOnlyOnce() {
+
+        // Given
+        CustomerModelDTO customerModelDTO = new CustomerModelDTO(1L, "Islam", "islam@gmail.com", "Male", 26);
+        when(delegate.selectCustomerDTOByID(1L)).thenReturn(Optional.of(customerModelDTO));
+
+        // When
+        Optional<CustomerModelDTO> first = underTest.selectCustomerDTOByID(1L);
+        Optional<CustomerModelDTO> second = underTest.selectCustomerDTOByID(1L);
+
+        // Then
+        assertThat(first).contains(customerModelDTO);
+        assertThat(second).isEqualTo(first);
+        verify(delegate, times(1)).selectCustomerDTOByID(1L);
+        // the entity, password hash included, is never loaded for an API read
+        verify(delegate, never()).selectCustomerByID(anyLong());
+    }
+
+    @Test
+    void updateCustomerInvalidatesCachedDTO() {
+
+        // Given
+        when(delegate.selectCustomerDTOByID(1L))
+                .thenReturn(Optional.of(new CustomerModelDTO(1L, "Islam", "islam@gmail.com", "Male", 26)))
+                .thenReturn(Optional.of(new CustomerModelDTO(1L, "Islam Gad", "islam@gmail.com", "Male", 26)));
+        when(delegate.updateCustomer(any())).thenReturn(1);
+        underTest.selectCustomerDTOByID(1L);
+
+        // When
+        underTest.updateCustomer(new CustomerModel(1L, "Islam Gad", null, null, null, null));
+
+        // Then
+        assertThat(underTest.selectCustomerDTOByID(1L)).map(CustomerModelDTO::name).contains("Islam Gad");
+    }
+
+    @Test
+    void unknownIdIsNotCached() {
+
+        // Given
+        when(delegate.selectCustomerByID(2L)).thenReturn(Optional.empty());
+
+        // When
+        underTest.selectCustomerByID(2L);
+        underTest.selectCustomerByID(2L);
+
+        // Then
+        verify(delegate, times(2)).selectCustomerByID(2L);
+    }
+
+    @Test
+    void concurrentMissesForTheSameIdHitTheDelegateOnce() throws Exception {
+
+        // Given
+        int threads = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.selectCustomerByID(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(customerModel);
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Callable<Optional<CustomerModel>>> tasks = IntStream.range(0, threads)
+                .<Callable<Optional<CustomerModel>>>mapToObj(i -> () -> underTest.selectCustomerByID(1L))
+                .toList();
+
+        // When
+        List<Future<Optional<CustomerModel>>> futures = tasks.stream().map(executorService::submit).toList();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        // Then
+        for (Future<Optional<CustomerModel>> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).contains(customerModel);
+        }
+        executorService.shutdown();
+        verify(delegate, times(1)).selectCustomerByID(1L);
+    }
+
+    @Test
+    void returnedCustomersAreCopies() {
+
+        // Given
+        when(delegate.selectCustomerByID(1L)).thenReturn(Optional.of(customerModel));
+
+        // When
+        underTest.selectCustomerByID(1L).orElseThrow().setName(null);
+
+        // Then
+        assertThat(underTest.selectCustomerByID(1L)).map(CustomerModel::getName).contains("Islam");
+    }
+
+    @Test
+    void getCustomerByEmailIsCachedByEmailAndId() {
+
+        // Given
+        when(delegate.getCustomerByEmail("islam@gmail.com")).thenReturn(Optional.of(customerModel));
+        when(delegate.selectCustomerByID(1L)).thenReturn(Optional.of(customerModel));
+
+        // When
+        underTest.getCustomerByEmail("islam@gmail.com");
+        Optional<CustomerModel> actual = underTest.getCustomerByEmail("islam@gmail.com");
+        underTest.selectCustomerByID(1L);
+
+        // Then
+        assertThat(actual).contains(customerModel);
+        verify(delegate, times(1)).getCustomerByEmail("islam@gmail.com");
+        verify(delegate, times(1)).selectCustomerByID(1L);
+    }
+
+    @Test
+    void updateCustomerInvalidatesIdAndEmailEntries() {
+
+        // Given
+        CustomerModel updated = new CustomerModel(1L, "Islam", "password", "new.islam@gmail.com", 26, "Male");
+        when(delegate.getCustomerByEmail("islam@gmail.com"))
+                .thenReturn(Optional.of(customerModel))
+                .thenReturn(Optional.empty());
+        when(delegate.selectCustomerByID(1L))
+                .thenReturn(Optional.of(customerModel))
+                .thenReturn(Optional.of(updated));
+        when(delegate.updateCustomer(any())).thenReturn(1);
+        underTest.getCustomerByEmail("islam@gmail.com");
+
+        // When
+        underTest.updateCustomer(new CustomerModel(1L, null, null, "new.islam@gmail.com", null, null));
+
+        // Then
+        assertThat(underTest.selectCustomerByID(1L)).map(CustomerModel::getEmail).contains("new.islam@gmail.com");
+        assertThat(underTest.getCustomerByEmail("islam@gmail.com")).isEmpty();
+        verify(delegate, times(2)).getCustomerByEmail("islam@gmail.com");
+    }
+
+    @Test
+    void deleteCustomerByIdInvalidatesCachedCustomer() {
+
+        // Given
+        when(delegate.selectCustomerByID(1L))
+                .thenReturn(Optional.of(customerModel))
+                .thenReturn(Optional.empty());
+        when(delegate.deleteCustomerById(1L)).thenReturn(1);
+        underTest.selectCustomerByID(1L);
+
+        // When
+        int deleted = underTest.deleteCustomerById(1L);
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(underTest.selectCustomerByID(1L)).isEmpty();
+    }
+
+    @Test
+    void staleEmailEntryFallsBackToDelegate() {
+
+        // Given
+        CustomerModel moved = new CustomerModel(1L, "Islam", "password", "other@gmail.com", 26, "Male");
+        when(delegate.getCustomerByEmail("islam@gmail.com"))
+                .thenReturn(Optional.of(customerModel))
+                .thenReturn(Optional.empty());
+        when(delegate.selectCustomerByID(1L)).thenReturn(Optional.of(moved));
+
+        // When
+        Optional<CustomerModel> actual = underTest.getCustomerByEmail("islam@gmail.com");
+
+        // Then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void customerChangeFromAnotherNodeEvictsCachedEntries() {
+
+        // Given
+        CustomerModel updated = new CustomerModel(1L, "Islam Gad", "password", "islam@gmail.com", 26, "Male");
+        when(delegate.selectCustomerByID(1L))
+                .thenReturn(Optional.of(customerModel))
+                .thenReturn(Optional.of(updated));
+        underTest.selectCustomerByID(1L);
+
+        // When
+        underTest.onCustomerChange(new CustomerChangeEvent("UPDATE", 1L, "islam@gmail.com", "islam@gmail.com"));
+
+        // Then
+        assertThat(underTest.selectCustomerByID(1L)).map(CustomerModel::getName).contains("Islam Gad");
+    }
+
+    @Test
+    void emailChangeFromAnotherNodeEvictsThePreviousEmailPointer() {
+
+        // Given
+        when(delegate.getCustomerByEmail("islam@gmail.com"))
+                .thenReturn(Optional.of(customerModel))
+                .thenReturn(Optional.empty());
+        when(delegate.selectCustomerByID(1L)).thenReturn(Optional.of(customerModel));
+        underTest.getCustomerByEmail("islam@gmail.com");
+
+        // When
+        underTest.onCustomerChange(new CustomerChangeEvent("UPDATE", 1L, "new.islam@gmail.com", "islam@gmail.com"));
+
+        // Then
+        assertThat(underTest.getCustomerByEmail("islam@gmail.com")).isEmpty();
+        verify(delegate, times(2)).getCustomerByEmail("islam@gmail.com");
+        verify(delegate, times(1)).selectCustomerByID(1L);
+    }
+
+    @Test
+    void cacheResetEvictsEverything() {
+
+        // Given
+        when(delegate.selectCustomerByID(1L)).thenReturn(Optional.of(customerModel));
+        underTest.selectCustomerByID(1L);
+
+        // When
+        underTest.onCacheReset(new CustomerCacheResetEvent("test"));
+        underTest.selectCustomerByID(1L);
+
+        // Then
+        verify(delegate, times(2)).selectCustomerByID(1L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.AbstractTestContainer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CustomerChangeListenerTest extends AbstractTestContainer {
+
+    private CustomerChangeListener underTest;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final JdbcTemplate jdbcTemplate = getJDBCTemplate();
+
+    @BeforeEach
+    void setUp() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(POSTGRES_SQL_CONTAINER.getJdbcUrl());
+        dataSourceProperties.setUsername(POSTGRES_SQL_CONTAINER.getUsername());
+        dataSourceProperties.setPassword(POSTGRES_SQL_CONTAINER.getPassword());
+
+        underTest = new CustomerChangeListener(
+                dataSourceProperties,
+                eventPublisher,
+                new ObjectMapper(),
+                true,
+                Duration.ofMillis(100),
+                Duration.ofMillis(100)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.stop();
+    }
+
+    @Test
+    void publishesCommittedCustomerChanges() throws InterruptedException {
+
+        // Given
+        underTest.start();
+        for (int attempt = 0; attempt < 50 && !underTest.isListening(); attempt++) {
+            Thread.sleep(100);
+        }
+
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        String newEmail = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+
+        // When
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO customer(name, password, email, age, gender)
+                VALUES('Islam', 'password', ?, 20, 'Male')
+                RETURNING id
+                """, Long.class, email);
+        jdbcTemplate.update("UPDATE customer SET email = ? WHERE id = ?", newEmail, id);
+        jdbcTemplate.update("DELETE FROM customer WHERE id = ?", id);
+
+        // Then
+        verify(eventPublisher, timeout(5000)).publishEvent(new CustomerChangeEvent("INSERT", id, email, null));
+        verify(eventPublisher, timeout(5000)).publishEvent(new CustomerChangeEvent("UPDATE", id, newEmail, email));
+        verify(eventPublisher, timeout(5000)).publishEvent(new CustomerChangeEvent("DELETE", id, null, newEmail));
+    }
+
+    @Test
+    void unreadablePayloadResetsCaches() {
+
+        // When
+        underTest.dispatch("not json");
+
+        // Then
+        verify(eventPublisher).publishEvent(any(CustomerCacheResetEvent.class));
+    }
+}
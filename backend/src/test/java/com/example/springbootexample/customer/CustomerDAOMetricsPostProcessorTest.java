@@ -0,0 +1,115 @@
+package com.example.springbootexample.customer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerDAOMetricsPostProcessorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final CustomerDAOMetricsPostProcessor underTest =
+            new CustomerDAOMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+
+    @BeforeEach
+    void setUp() {
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+    }
+
+    private CustomerListDataAccessService instrumentedListDAO() {
+        return (CustomerListDataAccessService) underTest.postProcessAfterInitialization(
+                new CustomerListDataAccessService(new CustomerModelDTOMapper()), "List");
+    }
+
+    @Test
+    void recordsLatencyAndRowsPerMethodAndQualifier() {
+
+        // Given
+        CustomerListDataAccessService customerDAO = instrumentedListDAO();
+
+        // When
+        List<CustomerModel> customers = customerDAO.selectAllUsers();
+        customerDAO.selectCustomerByID(1L);
+        customerDAO.selectCustomerByID(404L);
+
+        // Then
+        assertThat(AopUtils.isCglibProxy(customerDAO)).isTrue();
+        assertThat(customers).hasSize(2);
+        assertThat(meterRegistry.get(CustomerDAOMetricsPostProcessor.CALLS)
+                .tags("dao", "List", "method", "selectAllUsers", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CustomerDAOMetricsPostProcessor.ROWS)
+                .tags("dao", "List", "method", "selectAllUsers")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CustomerDAOMetricsPostProcessor.CALLS)
+                .tags("dao", "List", "method", "selectCustomerByID", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CustomerDAOMetricsPostProcessor.ROWS)
+                .tags("dao", "List", "method", "selectCustomerByID")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCallsAreRecordedAsErrors() {
+
+        // Given
+        CustomerListDataAccessService customerDAO = instrumentedListDAO();
+        CustomerModel duplicate = new CustomerModel("Islam Gad", "password", "islam.gad@elswedy.com", 26, "Male");
+
+        // When
+        // Then
+        assertThatThrownBy(() -> customerDAO.insertCustomer(duplicate))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(meterRegistry.get(CustomerDAOMetricsPostProcessor.CALLS)
+                .tags("dao", "List", "method", "insertCustomer", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(CustomerDAOMetricsPostProcessor.ROWS)
+                .tags("method", "insertCustomer")
+                .counter()).isNull();
+    }
+
+    @Test
+    void existingProxiesGetTheAdvisorInFront() {
+
+        // Given
+        ProxyFactory proxyFactory = new ProxyFactory(new CustomerListDataAccessService(new CustomerModelDTOMapper()));
+        proxyFactory.setProxyTargetClass(true);
+        Object proxy = proxyFactory.getProxy();
+        int advisors = ((Advised) proxy).getAdvisors().length;
+
+        // When
+        Object instrumented = underTest.postProcessAfterInitialization(proxy, "JDBC");
+        ((CustomerDAO) instrumented).userEmailExists("islam.gad@elswedy.com");
+
+        // Then
+        assertThat(instrumented).isSameAs(proxy);
+        assertThat(((Advised) instrumented).getAdvisors()).hasSize(advisors + 1);
+        assertThat(meterRegistry.get(CustomerDAOMetricsPostProcessor.CALLS)
+                .tags("dao", "JDBC", "method", "userEmailExists", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void otherBeansAreLeftAlone() {
+
+        // Given
+        CustomerModelDTOMapper bean = new CustomerModelDTOMapper();
+
+        // When
+        Object processed = underTest.postProcessAfterInitialization(bean, "customerModelDTOMapper");
+
+        // Then
+        assertThat(processed).isSameAs(bean);
+    }
+}
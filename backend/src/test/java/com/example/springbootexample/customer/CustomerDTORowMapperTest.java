@@ -0,0 +1,45 @@
+package com.example.springbootexample.customer;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CustomerDTORowMapperTest {
+
+    @Test
+    void mapRow() throws SQLException {
+
+        // Given
+        CustomerDTORowMapper customerDTORowMapper = new CustomerDTORowMapper();
+
+        ResultSet resultSet = mock(ResultSet.class);
+
+        when(resultSet.getLong(1)).thenReturn(1L);
+        when(resultSet.getString(2)).thenReturn("Islam");
+        when(resultSet.getString(3)).thenReturn("islam.gad@Gmail.com");
+        when(resultSet.getString(4)).thenReturn("Male");
+        when(resultSet.getInt(5)).thenReturn(26);
+
+        // When
+        CustomerModelDTO actual = customerDTORowMapper.mapRow(resultSet, 1);
+
+        // Then
+        CustomerModelDTO expected = new CustomerModelDTO(
+                1L,
+                "Islam",
+                "islam.gad@Gmail.com",
+                "Male",
+                26,
+                List.of("ROLE_USER"),
+                "islam.gad@Gmail.com"
+        );
+
+        assertThat(actual).isEqualTo(expected);
+        verify(resultSet, never()).getString("password");
+    }
+}
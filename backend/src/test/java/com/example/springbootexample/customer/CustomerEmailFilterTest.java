@@ -0,0 +1,107 @@
+package com.example.springbootexample.customer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerEmailFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private CustomerEmailFilter underTest;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerEmailFilter(meterRegistry, true, EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+    }
+
+    @Test
+    void everyEmailMightBePresentBeforeTheFirstRebuild() {
+
+        // When
+        // Then
+        assertThat(underTest.mightContain("islam@gmail.com")).isTrue();
+    }
+
+    @Test
+    void rebuildKnowsExistingEmailsAndPutAddsNewOnes() {
+
+        // Given
+        underTest.rebuild(2, emails -> List.of("islam@gmail.com", "mohamed@gmail.com").forEach(emails));
+
+        // When
+        underTest.put("ahmed@gmail.com");
+
+        // Then
+        assertThat(underTest.mightContain("islam@gmail.com")).isTrue();
+        assertThat(underTest.mightContain("mohamed@gmail.com")).isTrue();
+        assertThat(underTest.mightContain("ahmed@gmail.com")).isTrue();
+        assertThat(underTest.mightContain("new.customer@gmail.com")).isFalse();
+    }
+
+    @Test
+    void rebuildIsReportedThroughGauges() {
+
+        // When
+        underTest.rebuild(2, emails -> List.of("islam@gmail.com", "mohamed@gmail.com").forEach(emails));
+        underTest.put("ahmed@gmail.com");
+
+        // Then
+        assertThat(meterRegistry.get("customer.email.filter.memory").gauge().value()).isEqualTo(11_984);
+        assertThat(meterRegistry.get("customer.email.filter.hashes").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("customer.email.filter.emails").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void emailsPutDuringRebuildSurviveTheSwap() {
+
+        // When
+        underTest.rebuild(1, emails -> {
+            emails.accept("islam@gmail.com");
+            underTest.put("written.meanwhile@gmail.com");
+        });
+
+        // Then
+        assertThat(underTest.mightContain("written.meanwhile@gmail.com")).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+
+        // Given
+        underTest.rebuild(EXPECTED_INSERTIONS, emails ->
+                IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> emails.accept("customer" + i + "@gmail.com")));
+
+        // When
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> underTest.mightContain("unknown" + i + "@gmail.com"))
+                .count();
+
+        // Then
+        assertThat(falsePositives / 100_000.0).isLessThan(FALSE_POSITIVE_RATE * 2);
+        assertThat(meterRegistry.get("customer.email.filter.checks").tag("result", "absent").counter().count())
+                .isEqualTo(100_000 - falsePositives);
+        assertThat(meterRegistry.get("customer.email.filter.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void disabledFilterAlwaysFallsThrough() {
+
+        // Given
+        underTest = new CustomerEmailFilter(new SimpleMeterRegistry(), false, EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+        underTest.rebuild(0, emails -> {
+        });
+
+        // When
+        // Then
+        assertThat(underTest.mightContain("new.customer@gmail.com")).isTrue();
+    }
+}
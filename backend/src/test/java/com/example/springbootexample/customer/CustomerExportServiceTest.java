@@ -0,0 +1,80 @@
+package com.example.springbootexample.customer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerExportServiceTest {
+
+    private static final int FETCH_SIZE = 2;
+
+    private CustomerExportService underTest;
+
+    @Mock
+    private CustomerJDBCDataAccessService customerJDBCDataAccessService;
+
+    @Mock
+    private DataSource exportDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerExportService(
+                customerJDBCDataAccessService,
+                objectMapper,
+                exportDataSource,
+                FETCH_SIZE
+        );
+    }
+
+    @Test
+    void exportAllCustomersWritesOneJsonLinePerCustomer() throws Exception {
+
+        // Given
+        when(exportDataSource.getConnection()).thenReturn(connection);
+        doAnswer(invocation -> {
+            Consumer<CustomerModelDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new CustomerModelDTO(1L, "Islam", "islam@gmail.com", "Male", 26, List.of("ROLE_USER"), "islam@gmail.com"));
+            consumer.accept(new CustomerModelDTO(2L, "Mohamed", "mohamed@gmail.com", "Male", 21, List.of("ROLE_USER"), "mohamed@gmail.com"));
+            return null;
+        }).when(customerJDBCDataAccessService).streamAllCustomerDTOs(eq(FETCH_SIZE), any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        underTest.exportAllCustomers(outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], CustomerModelDTO.class).email()).isEqualTo("islam@gmail.com");
+        assertThat(objectMapper.readValue(lines[1], CustomerModelDTO.class).email()).isEqualTo("mohamed@gmail.com");
+        assertThat(lines[1]).doesNotContain("password");
+        verify(connection).setReadOnly(true);
+        verify(connection).commit();
+        verify(connection).close();
+    }
+}
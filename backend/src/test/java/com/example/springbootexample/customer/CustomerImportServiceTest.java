@@ -0,0 +1,281 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.exception.PasswordHashingUnavailableException;
+import com.example.springbootexample.exception.ResourceValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerImportServiceTest {
+
+    private CustomerImportService underTest;
+
+    @Mock
+    private CustomerJDBCDataAccessService customerJDBCDataAccessService;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerImportService(
+                customerJDBCDataAccessService,
+                NoOpPasswordEncoder.getInstance(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                2,
+                2
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void importJsonReportsInvalidAndDuplicateRowsWithoutAbortingTheBatch() throws Exception {
+
+        // Given
+        String body = """
+                [
+                  {"name": "Islam", "password": "P@ssW0rd", "email": "islam@gmail.com", "age": 26, "gender": "Male"},
+                  {"name": "Weak", "password": "weak", "email": "weak@gmail.com", "age": 30, "gender": "Male"},
+                  {"name": "Mohamed", "password": "P@ssW0rd", "email": "mohamed@gmail.com", "age": 21, "gender": "Male"}
+                ]
+                """;
+        when(customerJDBCDataAccessService.batchInsertCustomers(anyList()))
+                .thenReturn(new int[]{1})
+                .thenReturn(new int[]{0});
+
+        // When
+        CustomerImportResult actual = underTest.importJson(stream(body));
+
+        // Then
+        assertThat(actual.received()).isEqualTo(3);
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(actual.failed()).isEqualTo(2);
+        assertThat(actual.failures())
+                .extracting(CustomerImportFailure::row, CustomerImportFailure::email)
+                .containsExactlyInAnyOrder(
+                        tuple(2L, "weak@gmail.com"),
+                        tuple(3L, "mohamed@gmail.com")
+                );
+        assertThat(actual.failures())
+                .filteredOn(failure -> failure.row() == 3)
+                .extracting(CustomerImportFailure::reason)
+                .containsExactly("Email Already Token");
+    }
+
+    @Test
+    void importCsvHashesAndBatchesValidRows() throws Exception {
+
+        // Given
+        String body = """
+                name,password,email,age,gender
+                Islam,P@ssW0rd,islam@gmail.com,26,Male
+                Mohamed,P@ssW0rd,mohamed@gmail.com,not-a-number,Male
+                Ahmed,P@ssW0rd,ahmed@gmail.com,30,Male
+                """;
+        when(customerJDBCDataAccessService.batchInsertCustomers(anyList())).thenReturn(new int[]{1, 1});
+
+        // When
+        CustomerImportResult actual = underTest.importCsv(stream(body));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CustomerModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(customerJDBCDataAccessService, times(2)).batchInsertCustomers(captor.capture());
+
+        assertThat(captor.getAllValues())
+                .flatExtracting(customers -> customers)
+                .extracting(CustomerModel::getEmail)
+                .containsExactly("islam@gmail.com", "ahmed@gmail.com");
+        assertThat(actual.received()).isEqualTo(3);
+        assertThat(actual.imported()).isEqualTo(2);
+        assertThat(actual.failures())
+                .extracting(CustomerImportFailure::row)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void importStopsAtTheSaturatedRowAndReportsWhatWasCommitted() throws Exception {
+
+        // Given
+        PasswordEncoder saturated = mock(PasswordEncoder.class);
+        when(saturated.encode(anyString())).thenAnswer(invocation -> {
+            if ("S@turated1".equals(invocation.getArgument(0))) {
+                throw new PasswordHashingUnavailableException("Password hashing is saturated");
+            }
+            return "{noop}" + invocation.getArgument(0);
+        });
+        CustomerImportService saturatedImport = new CustomerImportService(
+                customerJDBCDataAccessService,
+                saturated,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                2,
+                2
+        );
+        String body = """
+                name,password,email,age,gender
+                Islam,P@ssW0rd,islam@gmail.com,26,Male
+                Weak,weak,weak@gmail.com,30,Male
+                Ahmed,P@ssW0rd,ahmed@gmail.com,30,Male
+                Mohamed,S@turated1,mohamed@gmail.com,21,Male
+                Ali,P@ssW0rd,ali@gmail.com,40,Male
+                """;
+        when(customerJDBCDataAccessService.batchInsertCustomers(anyList()))
+                .thenReturn(new int[]{1})
+                .thenReturn(new int[]{1});
+
+        // When
+        CustomerImportResult actual;
+        try {
+            actual = saturatedImport.importCsv(stream(body));
+        } finally {
+            saturatedImport.shutdown();
+        }
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CustomerModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(customerJDBCDataAccessService, times(2)).batchInsertCustomers(captor.capture());
+        assertThat(captor.getAllValues())
+                .flatExtracting(customers -> customers)
+                .extracting(CustomerModel::getEmail)
+                .containsExactly("islam@gmail.com", "ahmed@gmail.com");
+        assertThat(actual.received()).isEqualTo(4);
+        assertThat(actual.imported()).isEqualTo(2);
+        assertThat(actual.failed()).isEqualTo(1);
+        assertThat(actual.notProcessedFromRow()).isEqualTo(4);
+        assertThat(actual.failures())
+                .extracting(CustomerImportFailure::row)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void completeImportHasNoUnprocessedRows() throws Exception {
+
+        // Given
+        String body = """
+                [{"name": "Islam", "password": "P@ssW0rd", "email": "islam@gmail.com", "age": 26, "gender": "Male"}]
+                """;
+        when(customerJDBCDataAccessService.batchInsertCustomers(anyList())).thenReturn(new int[]{1});
+
+        // When
+        CustomerImportResult actual = underTest.importJson(stream(body));
+
+        // Then
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(actual.notProcessedFromRow()).isNull();
+    }
+
+    @Test
+    void importCsvReadsQuotedFieldsWithCommasAndQuotes() throws Exception {
+
+        // Given
+        String body = """
+                name,password,email,age,gender
+                "Gad, Islam","P@ss,W0rd""\",islam@gmail.com,26,Male
+                """;
+        when(customerJDBCDataAccessService.batchInsertCustomers(anyList())).thenReturn(new int[]{1});
+
+        // When
+        CustomerImportResult actual = underTest.importCsv(stream(body));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CustomerModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(customerJDBCDataAccessService).batchInsertCustomers(captor.capture());
+        assertThat(actual.imported()).isEqualTo(1);
+        assertThat(captor.getValue())
+                .extracting(CustomerModel::getName, CustomerModel::getPassword)
+                .containsExactly(tuple("Gad, Islam", "P@ss,W0rd\""));
+    }
+
+    @Test
+    void importCsvReportsUnterminatedQuotes() throws Exception {
+
+        // Given
+        String body = """
+                name,password,email,age,gender
+                "Islam,P@ssW0rd,islam@gmail.com,26,Male
+                """;
+
+        // When
+        CustomerImportResult actual = underTest.importCsv(stream(body));
+
+        // Then
+        assertThat(actual.imported()).isZero();
+        assertThat(actual.failures())
+                .extracting(CustomerImportFailure::reason)
+                .containsExactly("Unterminated quoted field in column 1");
+        verifyNoInteractions(customerJDBCDataAccessService);
+    }
+
+    @Test
+    void importReportsPasswordsTheEncoderRejects() throws Exception {
+
+        // Given
+        PasswordEncoder rejecting = mock(PasswordEncoder.class);
+        when(rejecting.encode(anyString())).thenThrow(new IllegalArgumentException("password too long"));
+        CustomerImportService rejectingImport = new CustomerImportService(
+                customerJDBCDataAccessService,
+                rejecting,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                2,
+                2
+        );
+        String body = """
+                [{"name": "Islam", "password": "P@ssW0rd", "email": "islam@gmail.com", "age": 26, "gender": "Male"}]
+                """;
+
+        // When
+        CustomerImportResult actual;
+        try {
+            actual = rejectingImport.importJson(stream(body));
+        } finally {
+            rejectingImport.shutdown();
+        }
+
+        // Then
+        assertThat(actual.imported()).isZero();
+        assertThat(actual.failures())
+                .extracting(CustomerImportFailure::reason)
+                .containsExactly("password too long");
+    }
+
+    @Test
+    void importCsvRejectsUnknownHeader() {
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.importCsv(stream("email,name\n")))
+                .isInstanceOf(ResourceValidationException.class);
+        verifyNoInteractions(customerJDBCDataAccessService);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,26 +1,38 @@
 package com.example.springbootexample.customer;
 
 import com.example.springbootexample.AbstractTestContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
 
     private CustomerJDBCDataAccessService underTest;
     private final CustomerRawMapper customerRawMapper = new CustomerRawMapper();
+    private final CustomerDTORowMapper customerDTORowMapper = new CustomerDTORowMapper();
 
     @BeforeEach
     void setUp() {
         underTest = new CustomerJDBCDataAccessService(
                 getJDBCTemplate(),
-                customerRawMapper
+                getReadJDBCTemplate(),
+                getReadJDBCTemplate(),
+                customerRawMapper,
+                customerDTORowMapper,
+                new CustomerEmailFilter(new SimpleMeterRegistry(), true, 1000, 0.01),
+                new CustomerReadYourWrites(Duration.ofSeconds(5), 1000)
         );
     }
 
@@ -43,6 +55,77 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
         assertThat(actual).isNotEmpty();
     }
 
+    @Test
+    void streamAllCustomerDTOs() {
+
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        underTest.insertCustomer(new CustomerModel(
+                FAKER.name().fullName(),
+                "password", email,
+                20,
+                "Male"
+        ));
+
+        List<CustomerModelDTO> actual = new ArrayList<>();
+
+        //When
+        underTest.streamAllCustomerDTOs(1, actual::add);
+
+        //Then
+        assertThat(actual).extracting(CustomerModelDTO::email).contains(email);
+        assertThat(actual).isSortedAccordingTo(Comparator.comparing(CustomerModelDTO::id));
+    }
+
+    @Test
+    void selectCustomerDTOsAfterId() {
+
+        //Given
+        for (int i = 0; i < 3; i++) {
+            underTest.insertCustomer(new CustomerModel(
+                    FAKER.name().fullName(),
+                    "password", FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(),
+                    20,
+                    "Male"
+            ));
+        }
+
+        //When
+        List<CustomerModelDTO> firstPage = underTest.selectCustomerDTOsAfterId(0L, 2);
+        List<CustomerModelDTO> secondPage = underTest.selectCustomerDTOsAfterId(firstPage.get(1).id(), 2);
+
+        //Then
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage).isSortedAccordingTo(Comparator.comparing(CustomerModelDTO::id));
+        assertThat(secondPage.get(0).id()).isGreaterThan(firstPage.get(1).id());
+    }
+
+    @Test
+    void selectCustomerDTOByID() {
+
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        Long id = underTest.insertCustomer(new CustomerModel(
+                FAKER.name().fullName(),
+                "password", email,
+                20,
+                "Male"
+        ));
+
+        //When
+        Optional<CustomerModelDTO> actual = underTest.selectCustomerDTOByID(id);
+
+        //Then
+        assertThat(actual).isPresent().hasValueSatisfying(customer -> {
+            assertThat(customer.id()).isEqualTo(id);
+            assertThat(customer.email()).isEqualTo(email);
+            assertThat(customer.userName()).isEqualTo(email);
+            assertThat(customer.age()).isEqualTo(20);
+            assertThat(customer.gender()).isEqualTo("Male");
+            assertThat(customer.roles()).containsExactly("ROLE_USER");
+        });
+    }
+
     @Test
     void selectCustomerByID() {
 
@@ -104,11 +187,74 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
         );
 
         //When
+        Long id = underTest.insertCustomer(customerModel);
+
+        //Then
+        assertThat(underTest.selectCustomerByID(id))
+                .hasValueSatisfying(c -> assertThat(c.getEmail()).isEqualTo(email));
+    }
+
+    @Test
+    void insertCustomerWithExistingEmailThrowsDuplicateKeyException() {
+
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        CustomerModel customerModel = new CustomerModel(
+                FAKER.name().fullName(),
+                "password", email,
+                20,
+                "Male"
+        );
         underTest.insertCustomer(customerModel);
 
+        //When
         //Then
-        final List<CustomerModel> actual = underTest.selectAllUsers();
-        assertThat(actual).isNotEmpty();
+        assertThatThrownBy(() -> underTest.insertCustomer(customerModel))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void batchInsertCustomersSkipsDuplicateEmails() {
+
+        //Given
+        String existingEmail = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        String newEmail = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        underTest.insertCustomer(new CustomerModel(
+                FAKER.name().fullName(),
+                "password", existingEmail,
+                20,
+                "Male"
+        ));
+
+        //When
+        int[] actual = underTest.batchInsertCustomers(List.of(
+                new CustomerModel(FAKER.name().fullName(), "password", existingEmail, 20, "Male"),
+                new CustomerModel(FAKER.name().fullName(), "password", newEmail, 20, "Male")
+        ));
+
+        //Then
+        assertThat(actual).containsExactly(0, 1);
+        assertThat(underTest.userEmailExists(newEmail)).isTrue();
+    }
+
+    @Test
+    void userEmailExistsAfterEmailFilterRebuild() {
+
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        underTest.insertCustomer(new CustomerModel(
+                FAKER.name().fullName(),
+                "password", email,
+                20,
+                "Male"
+        ));
+
+        //When
+        underTest.rebuildEmailFilter();
+
+        //Then
+        assertThat(underTest.userEmailExists(email)).isTrue();
+        assertThat(underTest.userEmailExists("new-" + UUID.randomUUID() + "@gmail.com")).isFalse();
     }
 
     @Test
@@ -201,11 +347,13 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
                 .orElseThrow();
 
         //When
-        underTest.deleteCustomerById(id);
+        int deleted = underTest.deleteCustomerById(id);
 
         //Then
+        assertThat(deleted).isEqualTo(1);
         final Optional<CustomerModel> actual = underTest.selectCustomerByID(id);
         assertThat(actual).isNotPresent();
+        assertThat(underTest.deleteCustomerById(id)).isZero();
     }
 
     @Test
@@ -369,9 +517,10 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
         update.setEmail(FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID());
         update.setAge(26);
 
-        underTest.updateCustomer(update);
+        int updated = underTest.updateCustomer(update);
 
         //Then
+        assertThat(updated).isEqualTo(1);
         final CustomerModel actual = underTest.selectCustomerByID(id).get();
 
         assertThat(actual)
@@ -380,6 +529,21 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
                 .isEqualTo(update);
     }
 
+    @Test
+    void updateReturnsZeroWhenIDNotExisting() {
+
+        //Given
+        CustomerModel update = new CustomerModel();
+        update.setId(0L);
+        update.setName("TestUserName");
+
+        //When
+        int updated = underTest.updateCustomer(update);
+
+        //Then
+        assertThat(updated).isZero();
+    }
+
     @Test
     void willNotUpdateIfNoThingToUpdate() {
 
@@ -405,9 +569,10 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
         CustomerModel update = new CustomerModel();
         update.setId(id);
 
-        underTest.updateCustomer(update);
+        int updated = underTest.updateCustomer(update);
 
         //Then
+        assertThat(updated).isZero();
         final Optional<CustomerModel> actual = underTest.selectCustomerByID(id);
         assertThat(actual).hasValueSatisfying(c -> {
             assertThat(c.getId()).isEqualTo(id);
@@ -416,4 +581,27 @@ class CustomerJDBCDataAccessServiceTest extends AbstractTestContainer {
             assertThat(c.getAge()).isEqualTo(customerModel.getAge());
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateCustomerPassword() {
+
+        //Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        underTest.insertCustomer(new CustomerModel(
+                FAKER.name().fullName(),
+                "password",
+                email,
+                20,
+                "Male"
+        ));
+
+        long id = underTest.getCustomerByEmail(email).orElseThrow().getId();
+
+        //When
+        underTest.updateCustomerPassword(id, "{bcrypt}hash");
+
+        //Then
+        assertThat(underTest.selectCustomerByID(id))
+                .hasValueSatisfying(c -> assertThat(c.getPassword()).isEqualTo("{bcrypt}hash"));
+    }
+}
@@ -9,8 +9,12 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,6 +30,8 @@ class CustomerJPARepositoryTest extends AbstractTestContainer {
     @Autowired
     private ApplicationContext applicationContext;
 
+    private final JdbcTemplate jdbcTemplate = getJDBCTemplate();
+
     @BeforeEach
     void setUp() {
         underTest.deleteAll();
@@ -107,4 +113,99 @@ class CustomerJPARepositoryTest extends AbstractTestContainer {
         assertThat(actual).isFalse();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveAllAllocatesIdsFromOnePooledSequenceBlock() {
+        // Given
+        List<CustomerModel> customers = IntStream.range(0, 3)
+                .mapToObj(i -> new CustomerModel(
+                        FAKER.name().fullName(),
+                        "password", FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(),
+                        20,
+                        "Male"
+                ))
+                .toList();
+
+        // When
+        List<Long> ids = underTest.saveAll(customers)
+                .stream()
+                .map(CustomerModel::getId)
+                .toList();
+
+        // Then
+        // consecutive ids: one nextval covered all three rows
+        assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1);
+        assertThat(ids.get(2)).isEqualTo(ids.get(0) + 2);
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = 'customer_id_seq'", Long.class);
+        assertThat(increment).isEqualTo(CustomerModel.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void updateCustomerChangesOnlyGivenFields() {
+        // Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        Long id = underTest.saveAndFlush(new CustomerModel("Islam", "password", email, 20, "Male")).getId();
+
+        // When
+        int updated = underTest.updateCustomer(id, "Gad", null, null);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap("SELECT name, email, age, password FROM customer WHERE id = ?", id))
+                .containsEntry("name", "Gad")
+                .containsEntry("email", email)
+                .containsEntry("age", 20)
+                .containsEntry("password", "password");
+    }
+
+    @Test
+    void updateCustomerOfDeletedIdTouchesNoRows() {
+        // Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        Long id = underTest.saveAndFlush(new CustomerModel("Islam", "password", email, 20, "Male")).getId();
+        underTest.deleteCustomerModelById(id);
+
+        // When
+        int updated = underTest.updateCustomer(id, "Gad", null, null);
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(underTest.existsCustomerModelById(id)).isFalse();
+    }
+
+    @Test
+    void findDTOsAfterIdProjectsPagesWithoutPassword() {
+        // Given
+        List<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> underTest.saveAndFlush(new CustomerModel(
+                        FAKER.name().fullName(),
+                        "password", FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(),
+                        20,
+                        "Male"
+                )).getId())
+                .toList();
+
+        // When
+        List<CustomerModelDTO> firstPage = underTest.findDTOsAfterId(0L, PageRequest.ofSize(2));
+        List<CustomerModelDTO> secondPage = underTest.findDTOsAfterId(firstPage.get(1).id(), PageRequest.ofSize(2));
+
+        // Then
+        assertThat(firstPage).extracting(CustomerModelDTO::id).containsExactly(ids.get(0), ids.get(1));
+        assertThat(secondPage).extracting(CustomerModelDTO::id).containsExactly(ids.get(2));
+        assertThat(firstPage.get(0).roles()).isEqualTo(CustomerRoles.USER.names());
+        assertThat(firstPage.get(0).userName()).isEqualTo(firstPage.get(0).email());
+    }
+
+    @Test
+    void findDTOById() {
+        // Given
+        String email = FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID();
+        Long id = underTest.saveAndFlush(new CustomerModel("Islam", "password", email, 20, "Male")).getId();
+
+        // When
+        // Then
+        assertThat(underTest.findDTOById(id)).contains(new CustomerModelDTO(id, "Islam", email, "Male", 20));
+        assertThat(underTest.findDTOById(-1L)).isEmpty();
+    }
+}
@@ -1,12 +1,31 @@
 package com.example.springbootexample.customer;
 
 import com.example.springbootexample.AbstractTestContainer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 
 class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
@@ -15,11 +34,20 @@ class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
     private AutoCloseable autoCloseable;
     @Mock
     private CustomerJPARepository customerJPARepositoryMock;
+    @Mock
+    private EntityManager entityManagerMock;
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
 
     @BeforeEach
     void setUp() {
         autoCloseable = MockitoAnnotations.openMocks(this);
-        underTest = new CustomerJpaDataAccessService(customerJPARepositoryMock);
+        underTest = new CustomerJpaDataAccessService(
+                customerJPARepositoryMock,
+                entityManagerMock,
+                transactionManagerMock,
+                2
+        );
     }
 
     @AfterEach
@@ -37,6 +65,21 @@ class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
         verify(customerJPARepositoryMock).findAll();
     }
 
+    @Test
+    void selectCustomerDTOsAfterId() {
+
+        // Given
+        long lastSeenId = 10;
+        int limit = 20;
+
+        // When
+        underTest.selectCustomerDTOsAfterId(lastSeenId, limit);
+
+        // Then
+        verify(customerJPARepositoryMock).findDTOsAfterId(lastSeenId, PageRequest.ofSize(limit));
+        verify(customerJPARepositoryMock, never()).findAll();
+    }
+
     @Test
     void selectCustomerByID() {
 
@@ -50,6 +93,22 @@ class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
         verify(customerJPARepositoryMock).findById(id);
     }
 
+    @Test
+    void selectCustomerDTOByID() {
+
+        // Given
+        long id = 1;
+        CustomerModelDTO customerModelDTO = new CustomerModelDTO(id, "Islam", "i.gad@Elswedy.com", "Male", 26);
+        when(customerJPARepositoryMock.findDTOById(id)).thenReturn(Optional.of(customerModelDTO));
+
+        // When
+        Optional<CustomerModelDTO> actual = underTest.selectCustomerDTOByID(id);
+
+        // Then
+        assertThat(actual).map(CustomerModelDTO::email).contains("i.gad@Elswedy.com");
+        verify(customerJPARepositoryMock, never()).findById(id);
+    }
+
     @Test
     void insertCustomer() {
 
@@ -62,14 +121,35 @@ class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
                 "Male"
         );
 
+        when(customerJPARepositoryMock.saveAndFlush(customerModel)).thenReturn(customerModel);
+
         // When
-        underTest.insertCustomer(customerModel);
+        Long id = underTest.insertCustomer(customerModel);
 
         // Then
-        verify(customerJPARepositoryMock).save(customerModel);
+        verify(customerJPARepositoryMock).saveAndFlush(customerModel);
+        assertThat(id).isEqualTo(1L);
 
     }
 
+    @Test
+    void batchInsertCustomersFlushesAndClearsEveryBatch() {
+
+        // Given
+        List<CustomerModel> customers = IntStream.range(0, 5)
+                .mapToObj(i -> new CustomerModel("Islam", "password", "islam" + i + "@gmail.com", 26, "Male"))
+                .toList();
+
+        // When
+        underTest.batchInsertCustomers(customers);
+
+        // Then
+        customers.forEach(customer -> verify(entityManagerMock).persist(customer));
+        verify(entityManagerMock, times(2)).flush();
+        verify(entityManagerMock, times(2)).clear();
+        verify(transactionManagerMock).commit(any());
+    }
+
     @Test
     void userEmailExists() {
 
@@ -108,7 +188,7 @@ class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
         underTest.deleteCustomerById(id);
 
         // Then
-        verify(customerJPARepositoryMock).deleteById(id);
+        verify(customerJPARepositoryMock).deleteCustomerModelById(id);
 
     }
 
@@ -124,11 +204,72 @@ class CustomerJpaDataAccessServiceTest extends AbstractTestContainer {
                 "Male"
         );
 
+        when(customerJPARepositoryMock.updateCustomer(1L, "Islam", "i.gad@Elswedy.com", 26)).thenReturn(1);
+
+        // When
+        int updated = underTest.updateCustomer(customerModel);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        verify(customerJPARepositoryMock, never()).save(any());
+
+    }
+
+    @Test
+    void updateCustomerPassesUnchangedFieldsAsNullAndReturnsRowCount() {
+
+        // Given
+        CustomerModel customerModel = new CustomerModel(1L, "Islam", null, null, null, null);
+        when(customerJPARepositoryMock.updateCustomer(1L, "Islam", null, null)).thenReturn(0);
+
+        // When
+        int updated = underTest.updateCustomer(customerModel);
+
+        // Then
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    void updateCustomerWithoutChangesSkipsTheQuery() {
+
+        // Given
+        CustomerModel customerModel = new CustomerModel(1L, null, null, null, null, null);
+
+        // When
+        int updated = underTest.updateCustomer(customerModel);
+
+        // Then
+        assertThat(updated).isZero();
+        verifyNoInteractions(customerJPARepositoryMock);
+    }
+
+    @Test
+    void updateCustomerToTakenEmailThrowsDuplicateKey() {
+
+        // Given
+        CustomerModel customerModel = new CustomerModel(1L, null, null, "taken@gmail.com", null, null);
+        when(customerJPARepositoryMock.updateCustomer(1L, null, "taken@gmail.com", null))
+                .thenThrow(new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                        "duplicate", new SQLException(), CustomerModel.EMAIL_UNIQUE_CONSTRAINT)));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.updateCustomer(customerModel))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void updateCustomerPassword() {
+
+        // Given
+        long id = 1;
+        String password = "{bcrypt}hash";
+
         // When
-        underTest.updateCustomer(customerModel);
+        underTest.updateCustomerPassword(id, password);
 
         // Then
-        verify(customerJPARepositoryMock).save(customerModel);
+        verify(customerJPARepositoryMock).updatePassword(id, password);
 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package com.example.springbootexample.customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerListDataAccessServiceTest {
+
+    private CustomerListDataAccessService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerListDataAccessService(new CustomerModelDTOMapper());
+    }
+
+    @Test
+    void insertCustomer() {
+
+        // Given
+        CustomerModel customerModel = new CustomerModel("Ahmed", "password", "ahmed@gmail.com", 30, "Male");
+
+        // When
+        Long id = underTest.insertCustomer(customerModel);
+
+        // Then
+        assertThat(underTest.selectCustomerByID(id))
+                .map(CustomerModel::getEmail)
+                .contains("ahmed@gmail.com");
+        assertThat(underTest.getCustomerByEmail("ahmed@gmail.com"))
+                .map(CustomerModel::getId)
+                .contains(id);
+    }
+
+    @Test
+    void insertCustomerWithTakenEmailThrowsDuplicateKeyException() {
+
+        // Given
+        underTest.insertCustomer(new CustomerModel("Ahmed", "password", "ahmed@gmail.com", 30, "Male"));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.insertCustomer(
+                new CustomerModel("Other", "password", "ahmed@gmail.com", 20, "Male")))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void updateCustomerReplacesInsteadOfAppending() {
+
+        // Given
+        Long id = underTest.insertCustomer(new CustomerModel("Ahmed", "password", "ahmed@gmail.com", 30, "Male"));
+        int sizeBefore = underTest.selectAllUsers().size();
+
+        CustomerModel update = new CustomerModel(id, null, null, "new.ahmed@gmail.com", 31, null);
+
+        // When
+        int updated = underTest.updateCustomer(update);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(underTest.selectAllUsers()).hasSize(sizeBefore);
+        assertThat(underTest.selectCustomerByID(id)).hasValueSatisfying(customer -> {
+            assertThat(customer.getName()).isEqualTo("Ahmed");
+            assertThat(customer.getEmail()).isEqualTo("new.ahmed@gmail.com");
+            assertThat(customer.getAge()).isEqualTo(31);
+        });
+        assertThat(underTest.userEmailExists("ahmed@gmail.com")).isFalse();
+        assertThat(underTest.userEmailExists("new.ahmed@gmail.com")).isTrue();
+    }
+
+    @Test
+    void updateCustomerToTakenEmailThrowsDuplicateKeyException() {
+
+        // Given
+        underTest.insertCustomer(new CustomerModel("Ahmed", "password", "ahmed@gmail.com", 30, "Male"));
+        Long id = underTest.insertCustomer(new CustomerModel("Omar", "password", "omar@gmail.com", 30, "Male"));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.updateCustomer(
+                new CustomerModel(id, null, null, "ahmed@gmail.com", null, null)))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(underTest.selectCustomerByID(id)).map(CustomerModel::getEmail).contains("omar@gmail.com");
+    }
+
+    @Test
+    void returnedCustomersAreCopies() {
+
+        // Given
+        Long id = underTest.insertCustomer(new CustomerModel("Ahmed", "password", "ahmed@gmail.com", 30, "Male"));
+
+        // When
+        underTest.selectCustomerByID(id).orElseThrow().setName(null);
+
+        // Then
+        assertThat(underTest.selectCustomerByID(id)).map(CustomerModel::getName).contains("Ahmed");
+    }
+
+    @Test
+    void deleteCustomerByIdReleasesEmail() {
+
+        // Given
+        Long id = underTest.insertCustomer(new CustomerModel("Ahmed", "password", "ahmed@gmail.com", 30, "Male"));
+
+        // When
+        int deleted = underTest.deleteCustomerById(id);
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(underTest.deleteCustomerById(id)).isZero();
+        assertThat(underTest.userIDExists(id)).isFalse();
+        assertThat(underTest.userEmailExists("ahmed@gmail.com")).isFalse();
+    }
+
+    @Test
+    void selectCustomerDTOsAfterIdPagesInIdOrder() {
+
+        // Given
+        IntStream.range(0, 5).forEach(i -> underTest.insertCustomer(
+                new CustomerModel("Customer " + i, "password", "customer" + i + "@gmail.com", 20, "Male")));
+
+        // When
+        List<CustomerModelDTO> firstPage = underTest.selectCustomerDTOsAfterId(0L, 3);
+        List<CustomerModelDTO> secondPage = underTest.selectCustomerDTOsAfterId(firstPage.get(2).id(), 3);
+
+        // Then
+        assertThat(firstPage).extracting(CustomerModelDTO::id).containsExactly(1L, 2L, 3L);
+        assertThat(secondPage).extracting(CustomerModelDTO::id).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void concurrentInsertsGetUniqueIdsAndKeepEmailsUnique() throws Exception {
+
+        // Given
+        int threads = 8;
+        int customersPerThread = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        List<Callable<Integer>> tasks = IntStream.range(0, threads)
+                .<Callable<Integer>>mapToObj(thread -> () -> {
+                    int duplicates = 0;
+                    for (int i = 0; i < customersPerThread; i++) {
+                        try {
+                            // every thread races for the same emails
+                            underTest.insertCustomer(new CustomerModel(
+                                    "Customer " + i, "password", "customer" + i + "@gmail.com", 20, "Male"));
+                        } catch (DuplicateKeyException e) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                })
+                .toList();
+
+        // When
+        int duplicates = 0;
+        for (Future<Integer> future : executorService.invokeAll(tasks)) {
+            duplicates += future.get();
+        }
+        executorService.shutdown();
+
+        // Then
+        List<CustomerModel> customers = underTest.selectAllUsers();
+        assertThat(duplicates).isEqualTo((threads - 1) * customersPerThread);
+        assertThat(customers).hasSize(2 + customersPerThread);
+        assertThat(customers).extracting(CustomerModel::getId).doesNotHaveDuplicates();
+        assertThat(customers).extracting(CustomerModel::getEmail).doesNotHaveDuplicates();
+    }
+}
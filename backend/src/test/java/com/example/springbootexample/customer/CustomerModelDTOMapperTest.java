@@ -0,0 +1,27 @@
+package com.example.springbootexample.customer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerModelDTOMapperTest {
+
+    private final CustomerModelDTOMapper underTest = new CustomerModelDTOMapper();
+
+    @Test
+    void mappedCustomersShareTheInternedRoleList() {
+
+        // Given
+        CustomerModel islam = new CustomerModel(1L, "Islam", "password", "islam@gmail.com", 26, "Male");
+        CustomerModel mohamed = new CustomerModel(2L, "Mohamed", "password", "mohamed@gmail.com", 21, "Male");
+
+        // When
+        CustomerModelDTO first = underTest.apply(islam);
+        CustomerModelDTO second = underTest.apply(mohamed);
+
+        // Then
+        assertThat(first.roles()).containsExactly("ROLE_USER");
+        assertThat(first.roles()).isSameAs(second.roles());
+        assertThat(islam.getAuthorities()).isSameAs(mohamed.getAuthorities());
+    }
+}
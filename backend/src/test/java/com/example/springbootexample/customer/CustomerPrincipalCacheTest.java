@@ -0,0 +1,180 @@
+package com.example.springbootexample.customer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerPrincipalCacheTest {
+
+    private CustomerPrincipalCache underTest;
+
+    @Mock
+    private CustomerUserDetailsService customerUserDetailsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CustomerModel customerModel = new CustomerModel(
+            1L,
+            "Islam",
+            "password", "islam@gmail.com",
+            26,
+            "Male"
+    );
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerPrincipalCache(customerUserDetailsService, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void getPrincipalLoadsFromDatabaseOnlyOnce() {
+
+        // Given
+        when(customerUserDetailsService.loadUserByUsername(customerModel.getEmail())).thenReturn(customerModel);
+
+        // When
+        UserDetails first = underTest.getPrincipal(customerModel.getEmail());
+        UserDetails second = underTest.getPrincipal(customerModel.getEmail());
+
+        // Then
+        assertThat(first.getUsername()).isEqualTo(customerModel.getEmail());
+        assertThat(AuthorityUtils.authorityListToSet(first.getAuthorities()))
+                .isEqualTo(AuthorityUtils.authorityListToSet(customerModel.getAuthorities()));
+        assertThat(first.getPassword()).isNull();
+        assertThat(second).isSameAs(first);
+        verify(customerUserDetailsService, times(1)).loadUserByUsername(customerModel.getEmail());
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateForcesReload() {
+
+        // Given
+        when(customerUserDetailsService.loadUserByUsername(customerModel.getEmail())).thenReturn(customerModel);
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // When
+        underTest.invalidate(customerModel.getEmail(), null);
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // Then
+        verify(customerUserDetailsService, times(2)).loadUserByUsername(customerModel.getEmail());
+    }
+
+    @Test
+    void invalidateDuringALoadDropsTheLoadedPrincipal() throws Exception {
+
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerUserDetailsService.loadUserByUsername(customerModel.getEmail()))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return customerModel;
+                })
+                .thenReturn(customerModel);
+        Thread loader = new Thread(() -> underTest.getPrincipal(customerModel.getEmail()));
+        loader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Thread invalidator = new Thread(() -> underTest.invalidate(customerModel.getEmail()));
+        invalidator.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (invalidator.getState() != Thread.State.BLOCKED && invalidator.isAlive() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        loader.join();
+        invalidator.join();
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // Then
+        verify(customerUserDetailsService, times(2)).loadUserByUsername(customerModel.getEmail());
+    }
+
+    @Test
+    void customerChangeFromAnotherNodeForcesReload() {
+
+        // Given
+        when(customerUserDetailsService.loadUserByUsername(customerModel.getEmail())).thenReturn(customerModel);
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // When
+        underTest.onCustomerChange(new CustomerChangeEvent("UPDATE", customerModel.getId(), customerModel.getEmail(), customerModel.getEmail()));
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // Then
+        verify(customerUserDetailsService, times(2)).loadUserByUsername(customerModel.getEmail());
+    }
+
+    @Test
+    void emailChangeFromAnotherNodeEvictsThePreviousEmail() {
+
+        // Given
+        CustomerModel other = new CustomerModel(2L, "Ali", "password", "ali@gmail.com", 30, "Male");
+        when(customerUserDetailsService.loadUserByUsername(customerModel.getEmail())).thenReturn(customerModel);
+        when(customerUserDetailsService.loadUserByUsername(other.getEmail())).thenReturn(other);
+        underTest.getPrincipal(customerModel.getEmail());
+        underTest.getPrincipal(other.getEmail());
+
+        // When
+        underTest.onCustomerChange(new CustomerChangeEvent("UPDATE", customerModel.getId(), "new.islam@gmail.com", customerModel.getEmail()));
+        underTest.getPrincipal(customerModel.getEmail());
+        underTest.getPrincipal(other.getEmail());
+
+        // Then
+        verify(customerUserDetailsService, times(2)).loadUserByUsername(customerModel.getEmail());
+        verify(customerUserDetailsService, times(1)).loadUserByUsername(other.getEmail());
+    }
+
+    @Test
+    void deleteFromAnotherNodeEvictsByPreviousEmail() {
+
+        // Given
+        when(customerUserDetailsService.loadUserByUsername(customerModel.getEmail())).thenReturn(customerModel);
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // When
+        underTest.onCustomerChange(new CustomerChangeEvent("DELETE", customerModel.getId(), null, customerModel.getEmail()));
+        underTest.getPrincipal(customerModel.getEmail());
+
+        // Then
+        verify(customerUserDetailsService, times(2)).loadUserByUsername(customerModel.getEmail());
+    }
+
+    @Test
+    void unknownEmailIsNotCached() {
+
+        // Given
+        String email = "unknown@gmail.com";
+        when(customerUserDetailsService.loadUserByUsername(email))
+                .thenThrow(new UsernameNotFoundException("Email %S not found".formatted(email)));
+
+        // When
+        assertThatThrownBy(() -> underTest.getPrincipal(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> underTest.getPrincipal(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        // Then
+        verify(customerUserDetailsService, times(2)).loadUserByUsername(email);
+    }
+}
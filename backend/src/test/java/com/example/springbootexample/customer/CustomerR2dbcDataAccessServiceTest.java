@@ -0,0 +1,168 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.AbstractTestContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerR2dbcDataAccessServiceTest extends AbstractTestContainer {
+
+    private CustomerR2dbcDataAccessService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerR2dbcDataAccessService(
+                getDatabaseClient(),
+                new CustomerEmailFilter(new SimpleMeterRegistry(), true, 1000, 0.01),
+                2
+        );
+    }
+
+    private CustomerModel newCustomer() {
+        return new CustomerModel(
+                FAKER.name().fullName(),
+                "password",
+                FAKER.internet().safeEmailAddress() + "-" + UUID.randomUUID(),
+                20,
+                "Male"
+        );
+    }
+
+    @Test
+    void insertCustomerAndSelectCustomerDTOByID() {
+
+        // Given
+        CustomerModel customerModel = newCustomer();
+
+        // When
+        Long id = underTest.insertCustomer(customerModel).block();
+
+        // Then
+        StepVerifier.create(underTest.selectCustomerDTOByID(id))
+                .assertNext(customer -> {
+                    assertThat(customer.id()).isEqualTo(id);
+                    assertThat(customer.email()).isEqualTo(customerModel.getEmail());
+                    assertThat(customer.age()).isEqualTo(20);
+                    assertThat(customer.roles()).containsExactly("ROLE_USER");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void selectCustomerDTOByIDReturnsEmptyWhenMissing() {
+
+        // When
+        // Then
+        StepVerifier.create(underTest.selectCustomerDTOByID(-1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void insertCustomerWithTakenEmailFails() {
+
+        // Given
+        CustomerModel customerModel = newCustomer();
+        underTest.insertCustomer(customerModel).block();
+
+        // When
+        // Then
+        StepVerifier.create(underTest.insertCustomer(customerModel))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    void streamCustomerDTOsAfterIdHonoursDemand() {
+
+        // Given
+        Long first = underTest.insertCustomer(newCustomer()).block();
+        underTest.insertCustomer(newCustomer()).block();
+        underTest.insertCustomer(newCustomer()).block();
+
+        // When
+        // Then
+        StepVerifier.create(underTest.streamCustomerDTOsAfterId(first - 1), 1)
+                .assertNext(customer -> assertThat(customer.id()).isEqualTo(first))
+                .thenRequest(1)
+                .assertNext(customer -> assertThat(customer.id()).isGreaterThan(first))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void selectCustomerDTOsAfterId() {
+
+        // Given
+        Long first = underTest.insertCustomer(newCustomer()).block();
+        underTest.insertCustomer(newCustomer()).block();
+
+        // When
+        // Then
+        StepVerifier.create(underTest.selectCustomerDTOsAfterId(first, 1))
+                .assertNext(customer -> assertThat(customer.id()).isGreaterThan(first))
+                .verifyComplete();
+    }
+
+    @Test
+    void userEmailExists() {
+
+        // Given
+        CustomerModel customerModel = newCustomer();
+        underTest.insertCustomer(customerModel).block();
+
+        // When
+        // Then
+        StepVerifier.create(underTest.userEmailExists(customerModel.getEmail()))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(underTest.userEmailExists("missing-" + UUID.randomUUID()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateCustomer() {
+
+        // Given
+        CustomerModel customerModel = newCustomer();
+        Long id = underTest.insertCustomer(customerModel).block();
+        CustomerModel update = new CustomerModel();
+        update.setId(id);
+        update.setName("Updated");
+        update.setAge(42);
+
+        // When
+        String previousEmail = underTest.updateCustomer(update).block();
+
+        // Then
+        assertThat(previousEmail).isEqualTo(customerModel.getEmail());
+        StepVerifier.create(underTest.selectCustomerDTOByID(id))
+                .assertNext(customer -> {
+                    assertThat(customer.name()).isEqualTo("Updated");
+                    assertThat(customer.age()).isEqualTo(42);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteCustomerById() {
+
+        // Given
+        CustomerModel customerModel = newCustomer();
+        Long id = underTest.insertCustomer(customerModel).block();
+
+        // When
+        String deletedEmail = underTest.deleteCustomerById(id).block();
+
+        // Then
+        assertThat(deletedEmail).isEqualTo(customerModel.getEmail());
+        StepVerifier.create(underTest.selectCustomerDTOByID(id))
+                .verifyComplete();
+    }
+}
@@ -19,11 +19,12 @@ class CustomerRawMapperTest {
 
         ResultSet resultSet = mock(ResultSet.class);
 
-        when(resultSet.getLong("id")).thenReturn(1L);
-        when(resultSet.getString("name")).thenReturn("Islam");
-        when(resultSet.getString("email")).thenReturn("islam.gad@Gmail.com");
-        when(resultSet.getInt("age")).thenReturn(26);
-        when(resultSet.getString("gender")).thenReturn("Male");
+        when(resultSet.getLong(1)).thenReturn(1L);
+        when(resultSet.getString(2)).thenReturn("Islam");
+        when(resultSet.getString(3)).thenReturn("password");
+        when(resultSet.getString(4)).thenReturn("islam.gad@Gmail.com");
+        when(resultSet.getInt(5)).thenReturn(26);
+        when(resultSet.getString(6)).thenReturn("Male");
 
         // When
         CustomerModel actual = customerRawMapper.mapRow(resultSet, 1);
@@ -0,0 +1,80 @@
+package com.example.springbootexample.customer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerReadYourWritesTest {
+
+    private final CustomerReadYourWrites underTest = new CustomerReadYourWrites(Duration.ofSeconds(5), 1000);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsOfRecentlyWrittenCustomerRequirePrimary() {
+
+        // Given
+        underTest.recordWrite(1L, "islam@gmail.com");
+
+        // When
+        boolean byId = underTest.readById(1L, underTest::requiresPrimary);
+        boolean byEmail = underTest.readByEmail("islam@gmail.com", underTest::requiresPrimary);
+        boolean otherCustomer = underTest.readById(2L, underTest::requiresPrimary);
+
+        // Then
+        assertThat(byId).isTrue();
+        assertThat(byEmail).isTrue();
+        assertThat(otherCustomer).isFalse();
+        assertThat(underTest.requiresPrimary()).isFalse();
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromPrimary() {
+
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("islam@gmail.com", null, List.of()));
+        assertThat(underTest.requiresPrimary()).isFalse();
+
+        // When
+        underTest.recordWrite(2L, null);
+
+        // Then
+        assertThat(underTest.requiresPrimary()).isTrue();
+    }
+
+    @Test
+    void changesFromOtherNodesRequirePrimaryForOldAndNewEmail() {
+
+        // When
+        underTest.onCustomerChange(new CustomerChangeEvent("UPDATE", 3L, "new@gmail.com", "old@gmail.com"));
+
+        // Then
+        assertThat(underTest.readById(3L, underTest::requiresPrimary)).isTrue();
+        assertThat(underTest.readByEmail("new@gmail.com", underTest::requiresPrimary)).isTrue();
+        assertThat(underTest.readByEmail("old@gmail.com", underTest::requiresPrimary)).isTrue();
+    }
+
+    @Test
+    void stickinessExpiresAfterWindow() throws InterruptedException {
+
+        // Given
+        CustomerReadYourWrites shortWindow = new CustomerReadYourWrites(Duration.ofMillis(50), 1000);
+        shortWindow.recordWrite(1L, null);
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertThat(shortWindow.readById(1L, shortWindow::requiresPrimary)).isFalse();
+    }
+}
@@ -9,9 +9,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -28,12 +31,15 @@ class CustomerServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CustomerPrincipalCache customerPrincipalCache;
+
     private final CustomerModelDTOMapper customerModelDTOMapper = new CustomerModelDTOMapper();
 
 
     @BeforeEach
     void setUp() {
-        underTest = new CustomerService(customerDAO, passwordEncoder, customerModelDTOMapper);
+        underTest = new CustomerService(customerDAO, passwordEncoder, customerModelDTOMapper, customerPrincipalCache);
     }
 
     @Test
@@ -47,6 +53,74 @@ class CustomerServiceTest {
 
     }
 
+    @Test
+    void canGetFirstCustomerPage() {
+
+        // Given
+        List<CustomerModelDTO> customers = Stream.of(
+                new CustomerModel(1L, "Islam", "password", "islam@gmail.com", 26, "Male"),
+                new CustomerModel(2L, "Mohamed", "password", "mohamed@gmail.com", 21, "Male"),
+                new CustomerModel(3L, "Ahmed", "password", "ahmed@gmail.com", 30, "Male")
+        ).map(customerModelDTOMapper).toList();
+        when(customerDAO.selectCustomerDTOsAfterId(0L, 3)).thenReturn(customers);
+
+        // When
+        CustomerPage actual = underTest.getCustomerPage(null, 2);
+
+        // Then
+        assertThat(actual.customers())
+                .extracting(CustomerModelDTO::id)
+                .containsExactly(1L, 2L);
+        assertThat(actual.nextCursor()).isNotNull();
+
+        // When
+        underTest.getCustomerPage(actual.nextCursor(), 2);
+
+        // Then
+        verify(customerDAO).selectCustomerDTOsAfterId(2L, 3);
+    }
+
+    @Test
+    void lastCustomerPageHasNoNextCursor() {
+
+        // Given
+        List<CustomerModelDTO> customers = List.of(
+                customerModelDTOMapper.apply(new CustomerModel(1L, "Islam", "password", "islam@gmail.com", 26, "Male"))
+        );
+        when(customerDAO.selectCustomerDTOsAfterId(0L, CustomerService.DEFAULT_PAGE_SIZE + 1)).thenReturn(customers);
+
+        // When
+        CustomerPage actual = underTest.getCustomerPage(null, null);
+
+        // Then
+        assertThat(actual.customers()).hasSize(1);
+        assertThat(actual.nextCursor()).isNull();
+    }
+
+    @Test
+    void willThrowResourceValidationExceptionWhenPageSizeExceedsLimit() {
+
+        // When
+        assertThatThrownBy(() -> underTest.getCustomerPage(null, CustomerService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(ResourceValidationException.class)
+                .hasMessage("Page size must be between 1 and %S".formatted(CustomerService.MAX_PAGE_SIZE));
+
+        // Then
+        verify(customerDAO, never()).selectCustomerDTOsAfterId(any(), anyInt());
+    }
+
+    @Test
+    void willThrowResourceValidationExceptionWhenCursorIsInvalid() {
+
+        // When
+        assertThatThrownBy(() -> underTest.getCustomerPage("not-a-cursor", 10))
+                .isInstanceOf(ResourceValidationException.class)
+                .hasMessage("Invalid page cursor [%S]".formatted("not-a-cursor"));
+
+        // Then
+        verify(customerDAO, never()).selectCustomerDTOsAfterId(any(), anyInt());
+    }
+
     @Test
     void canGetCustomer() {
 
@@ -61,10 +135,10 @@ class CustomerServiceTest {
                 "Male"
         );
 
-        when(customerDAO.selectCustomerByID(id)).thenReturn(Optional.of(customerModel));
-
         CustomerModelDTO expected = customerModelDTOMapper.apply(customerModel);
 
+        when(customerDAO.selectCustomerDTOByID(id)).thenReturn(Optional.of(expected));
+
         // When
         final CustomerModelDTO actual = underTest.getCustomer(id);
 
@@ -80,7 +154,7 @@ class CustomerServiceTest {
         long id = 1;
 
         // When
-        when(customerDAO.selectCustomerByID(id)).thenReturn(Optional.empty());
+        when(customerDAO.selectCustomerDTOByID(id)).thenReturn(Optional.empty());
 
         // Then
         assertThatThrownBy(() -> underTest.getCustomer(id))
@@ -93,7 +167,6 @@ class CustomerServiceTest {
 
         // Given
         String customerEmail = "islam.gad@gmail.com";
-        when(customerDAO.userEmailExists(customerEmail)).thenReturn(false); // to avoid exception
 
         CustomerRegisterRequest customerRegisterRequest = new CustomerRegisterRequest(
                 "Islam",
@@ -104,9 +177,10 @@ class CustomerServiceTest {
 
         String hashedPassword = "$%#@%^&FHF--)";
         when(passwordEncoder.encode(customerRegisterRequest.password())).thenReturn(hashedPassword);
+        when(customerDAO.insertCustomer(any())).thenReturn(7L);
 
         // When
-        underTest.insertCustomer(customerRegisterRequest);
+        Long id = underTest.insertCustomer(customerRegisterRequest);
 
         // Then
         ArgumentCaptor<CustomerModel> argumentCaptor = ArgumentCaptor.forClass(
@@ -122,11 +196,13 @@ class CustomerServiceTest {
         assertThat(actual.getName()).isEqualTo(customerRegisterRequest.name());
         assertThat(actual.getAge()).isEqualTo(customerRegisterRequest.age());
         assertThat(actual.getPassword()).isEqualTo(hashedPassword);
+        assertThat(id).isEqualTo(7L);
+        verify(customerDAO).userEmailExists(customerEmail);
 
     }
 
     @Test
-    void willThrowResourceDuplicationExceptionWhenInsertExistingEmail() {
+    void willThrowResourceDuplicationExceptionBeforeHashingWhenEmailIsTaken() {
 
         // Given
         String customerEmail = "islam.gad@gmail.com";
@@ -140,12 +216,34 @@ class CustomerServiceTest {
         );
 
         // When
+        // Then
         assertThatThrownBy(() -> underTest.insertCustomer(customerRegisterRequest))
                 .isInstanceOf(ResourceDuplicationException.class)
                 .hasMessage("Email Already Token");
+        verifyNoInteractions(passwordEncoder);
+        verify(customerDAO, never()).insertCustomer(any());
+
+    }
+
+    @Test
+    void willThrowResourceDuplicationExceptionWhenEmailIsTakenConcurrently() {
+
+        // Given
+        String customerEmail = "islam.gad@gmail.com";
+        when(customerDAO.insertCustomer(any())).thenThrow(new DuplicateKeyException(CustomerModel.EMAIL_UNIQUE_CONSTRAINT));
+
+        CustomerRegisterRequest customerRegisterRequest = new CustomerRegisterRequest(
+                "Islam",
+                "password", customerEmail,
+                26,
+                "Male"
+        );
 
+        // When
         // Then
-        verify(customerDAO, never()).insertCustomer(any());
+        assertThatThrownBy(() -> underTest.insertCustomer(customerRegisterRequest))
+                .isInstanceOf(ResourceDuplicationException.class)
+                .hasMessage("Email Already Token");
 
     }
 
@@ -155,13 +253,16 @@ class CustomerServiceTest {
         // Given
         long id = 1;
 
-        when(customerDAO.userIDExists(id)).thenReturn(true); // to avoid exception
+        when(customerDAO.selectCustomerByID(id)).thenReturn(Optional.of(
+                new CustomerModel(id, "Islam", "password", "islam@gmail.com", 26, "Male")));
+        when(customerDAO.deleteCustomerById(id)).thenReturn(1);
 
         // When
         underTest.deleteCustomer(id);
 
         // Then
         verify(customerDAO).deleteCustomerById(id);
+        verify(customerPrincipalCache).invalidate("islam@gmail.com");
 
     }
 
@@ -171,7 +272,7 @@ class CustomerServiceTest {
         // Given
         long id = 1;
 
-        when(customerDAO.userIDExists(id)).thenReturn(false);
+        when(customerDAO.selectCustomerByID(id)).thenReturn(Optional.empty());
 
         // When
         assertThatThrownBy(() -> underTest.deleteCustomer(id))
@@ -181,6 +282,28 @@ class CustomerServiceTest {
 
         // Then
         verify(customerDAO, never()).deleteCustomerById(id);
+        verifyNoInteractions(customerPrincipalCache);
+
+    }
+
+    @Test
+    void willThrowExceptionWhenCustomerDeletedConcurrently() {
+
+        // Given
+        long id = 1;
+
+        when(customerDAO.selectCustomerByID(id)).thenReturn(Optional.of(
+                new CustomerModel(id, "Islam", "password", "islam@gmail.com", 26, "Male")));
+        when(customerDAO.deleteCustomerById(id)).thenReturn(0);
+
+        // When
+        assertThatThrownBy(() -> underTest.deleteCustomer(id))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Customer id [%S] not found".formatted(id));
+
+
+        // Then
+        verifyNoInteractions(customerPrincipalCache);
 
     }
 
@@ -206,6 +329,8 @@ class CustomerServiceTest {
         );
         when(customerDAO.userEmailExists(newEmail)).thenReturn(false);
 
+        when(customerDAO.updateCustomer(any())).thenReturn(1);
+
         // When
         underTest.updateCustomer(id, customerUpdateRequest);
 
@@ -221,6 +346,7 @@ class CustomerServiceTest {
         assertThat(updatedCustomer.getName()).isEqualTo(customerUpdateRequest.name());
         assertThat(updatedCustomer.getEmail()).isEqualTo(customerUpdateRequest.email());
         assertThat(updatedCustomer.getAge()).isEqualTo(customerUpdateRequest.age());
+        verify(customerPrincipalCache).invalidate("Islam.gad@gmail.com", newEmail);
 
     }
 
@@ -246,6 +372,8 @@ class CustomerServiceTest {
         );
         when(customerDAO.userEmailExists(newEmail)).thenReturn(false);
 
+        when(customerDAO.updateCustomer(any())).thenReturn(1);
+
         // When
         underTest.updateCustomer(id, customerUpdateRequest);
 
@@ -284,6 +412,8 @@ class CustomerServiceTest {
                 null
         );
 
+        when(customerDAO.updateCustomer(any())).thenReturn(1);
+
         // When
         underTest.updateCustomer(id, customerUpdateRequest);
 
@@ -322,6 +452,8 @@ class CustomerServiceTest {
                 21
         );
 
+        when(customerDAO.updateCustomer(any())).thenReturn(1);
+
         // When
         underTest.updateCustomer(id, customerUpdateRequest);
 
@@ -340,6 +472,36 @@ class CustomerServiceTest {
 
     }
 
+    @Test
+    void willThrowResourceNotFoundExceptionWhenCustomerDeletedDuringUpdate() {
+
+        // Given
+        long id = 10;
+        final CustomerModel customerModel = new CustomerModel(
+                id,
+                "Islam",
+                "password", "Islam.gad@gmail.com",
+                26,
+                "Male"
+        );
+        when(customerDAO.selectCustomerByID(id)).thenReturn(Optional.of(customerModel));
+        when(customerDAO.updateCustomer(any())).thenReturn(0);
+
+        final CustomerUpdateRequest customerUpdateRequest = new CustomerUpdateRequest(
+                "Mohamed",
+                null,
+                null
+        );
+
+        // When
+        assertThatThrownBy(() -> underTest.updateCustomer(id, customerUpdateRequest))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Customer id [%S] not found".formatted(id));
+
+        // Then
+        verifyNoInteractions(customerPrincipalCache);
+    }
+
     @Test
     void willThrowExceptionWhenUpdateCustomerThatHaveEmailExists() {
 
@@ -369,6 +531,7 @@ class CustomerServiceTest {
 
         // Then
         verify(customerDAO, never()).updateCustomer(any());
+        verifyNoInteractions(customerPrincipalCache);
 
     }
 
@@ -399,6 +562,7 @@ class CustomerServiceTest {
 
         // Then
         verify(customerDAO, never()).updateCustomer(any());
+        verifyNoInteractions(customerPrincipalCache);
 
     }
 
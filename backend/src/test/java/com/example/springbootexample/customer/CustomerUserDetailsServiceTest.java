@@ -0,0 +1,74 @@
+package com.example.springbootexample.customer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerUserDetailsServiceTest {
+
+    private CustomerUserDetailsService underTest;
+
+    @Mock
+    private CustomerDAO customerDAO;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerUserDetailsService(customerDAO);
+    }
+
+    @Test
+    void loadUserByUsername() {
+
+        // Given
+        String email = "islam@gmail.com";
+        CustomerModel customerModel = new CustomerModel(1L, "Islam", "password", email, 26, "Male");
+        when(customerDAO.getCustomerByEmail(email)).thenReturn(Optional.of(customerModel));
+
+        // When
+        UserDetails actual = underTest.loadUserByUsername(email);
+
+        // Then
+        assertThat(actual).isSameAs(customerModel);
+    }
+
+    @Test
+    void willThrowUsernameNotFoundExceptionWhenEmailNotExists() {
+
+        // Given
+        String email = "islam@gmail.com";
+        when(customerDAO.getCustomerByEmail(email)).thenReturn(Optional.empty());
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.loadUserByUsername(email))
+                .isInstanceOf(UsernameNotFoundException.class)
+                .hasMessage("Email %S not found".formatted(email));
+    }
+
+    @Test
+    void updatePassword() {
+
+        // Given
+        CustomerModel customerModel = new CustomerModel(1L, "Islam", "old-hash", "islam@gmail.com", 26, "Male");
+        String newHash = "{bcrypt}new-hash";
+
+        // When
+        UserDetails actual = underTest.updatePassword(customerModel, newHash);
+
+        // Then
+        verify(customerDAO).updateCustomerPassword(1L, newHash);
+        assertThat(actual.getPassword()).isEqualTo(newHash);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.exception.ResourceNotFoundException;
+import com.example.springbootexample.jwt.JWTUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCustomerRouterTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveCustomerService reactiveCustomerService;
+
+    private final CustomerModelDTOMapper customerModelDTOMapper = new CustomerModelDTOMapper();
+
+    @BeforeEach
+    void setUp() {
+        ReactiveCustomerHandler handler = new ReactiveCustomerHandler(new JWTUtil(), reactiveCustomerService);
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new ReactiveCustomerRouter().customerRoutes(handler))
+                .build();
+    }
+
+    @Test
+    void getCustomersStreamsNdjson() {
+
+        // Given
+        List<CustomerModelDTO> customers = List.of(
+                customerModelDTOMapper.apply(new CustomerModel(1L, "Islam", "password", "islam@gmail.com", 26, "Male")),
+                customerModelDTOMapper.apply(new CustomerModel(2L, "Ahmed", "password", "ahmed@gmail.com", 30, "Male"))
+        );
+        when(reactiveCustomerService.getCustomers(null, null)).thenReturn(Flux.fromIterable(customers));
+
+        // When
+        // Then
+        webTestClient.get()
+                .uri("/api/v1/customers")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(CustomerModelDTO.class)
+                .isEqualTo(customers);
+    }
+
+    @Test
+    void getCustomerReturnsNotFound() {
+
+        // Given
+        when(reactiveCustomerService.getCustomer(5L))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Customer id [5] not found")));
+
+        // When
+        // Then
+        webTestClient.get()
+                .uri("/api/v1/customers/{id}", 5)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getCustomerRejectsNonNumericId() {
+
+        // When
+        // Then
+        webTestClient.get()
+                .uri("/api/v1/customers/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void insertCustomerReturnsLocationAndToken() {
+
+        // Given
+        when(reactiveCustomerService.insertCustomer(any())).thenReturn(Mono.just(7L));
+
+        // When
+        // Then
+        webTestClient.post()
+                .uri("/api/v1/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CustomerRegisterRequest("Islam", "Password@123", "islam@gmail.com", 26, "Male"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueMatches(HttpHeaders.LOCATION, ".*/api/v1/customers/7")
+                .expectHeader().exists(HttpHeaders.AUTHORIZATION);
+    }
+
+    @Test
+    void deleteCustomer() {
+
+        // Given
+        when(reactiveCustomerService.deleteCustomer(1L)).thenReturn(Mono.empty());
+
+        // When
+        // Then
+        webTestClient.delete()
+                .uri("/api/v1/customers/{id}", 1)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.springbootexample.customer;
+
+import com.example.springbootexample.exception.ResourceDuplicationException;
+import com.example.springbootexample.exception.ResourceNotFoundException;
+import com.example.springbootexample.exception.ResourceValidationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCustomerServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ReactiveCustomerService underTest;
+
+    @Mock
+    private CustomerR2dbcDataAccessService customerR2dbcDataAccessService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private CustomerPrincipalCache customerPrincipalCache;
+
+    private final CustomerModelDTOMapper customerModelDTOMapper = new CustomerModelDTOMapper();
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ReactiveCustomerService(customerR2dbcDataAccessService, passwordEncoder, VALIDATOR, customerPrincipalCache);
+    }
+
+    @Test
+    void getCustomersStreamsWithoutSize() {
+
+        // Given
+        CustomerModelDTO customer = customerModelDTOMapper.apply(
+                new CustomerModel(3L, "Islam", "password", "islam@gmail.com", 26, "Male"));
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("2".getBytes(StandardCharsets.UTF_8));
+        when(customerR2dbcDataAccessService.streamCustomerDTOsAfterId(2L)).thenReturn(Flux.just(customer));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.getCustomers(cursor, null))
+                .expectNext(customer)
+                .verifyComplete();
+    }
+
+    @Test
+    void getCustomersLimitsWithSize() {
+
+        // Given
+        when(customerR2dbcDataAccessService.selectCustomerDTOsAfterId(0L, 10)).thenReturn(Flux.empty());
+
+        // When
+        // Then
+        StepVerifier.create(underTest.getCustomers(null, 10))
+                .verifyComplete();
+        verify(customerR2dbcDataAccessService, never()).streamCustomerDTOsAfterId(any());
+    }
+
+    @Test
+    void getCustomersRejectsInvalidSize() {
+
+        // When
+        // Then
+        StepVerifier.create(underTest.getCustomers(null, CustomerService.MAX_PAGE_SIZE + 1))
+                .expectError(ResourceValidationException.class)
+                .verify();
+    }
+
+    @Test
+    void getCustomerThrowsWhenMissing() {
+
+        // Given
+        when(customerR2dbcDataAccessService.selectCustomerDTOByID(1L)).thenReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(underTest.getCustomer(1L))
+                .expectErrorMessage("Customer id [1] not found")
+                .verify();
+    }
+
+    @Test
+    void insertCustomerHashesPasswordOffTheCallerThread() {
+
+        // Given
+        CustomerRegisterRequest request = new CustomerRegisterRequest(
+                "Islam", "Password@123", "islam@gmail.com", 26, "Male");
+        Thread caller = Thread.currentThread();
+        when(passwordEncoder.encode("Password@123")).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            return "{bcrypt}hash";
+        });
+        when(customerR2dbcDataAccessService.userEmailExists("islam@gmail.com")).thenReturn(Mono.just(false));
+        when(customerR2dbcDataAccessService.insertCustomer(any())).thenReturn(Mono.just(7L));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.insertCustomer(request))
+                .expectNext(7L)
+                .verifyComplete();
+
+        ArgumentCaptor<CustomerModel> captor = ArgumentCaptor.forClass(CustomerModel.class);
+        verify(customerR2dbcDataAccessService).insertCustomer(captor.capture());
+        assertThat(captor.getValue().getPassword()).isEqualTo("{bcrypt}hash");
+        assertThat(captor.getValue().getEmail()).isEqualTo("islam@gmail.com");
+    }
+
+    @Test
+    void insertCustomerRejectsWeakPassword() {
+
+        // Given
+        CustomerRegisterRequest request = new CustomerRegisterRequest(
+                "Islam", "weak", "islam@gmail.com", 26, "Male");
+
+        // When
+        // Then
+        StepVerifier.create(underTest.insertCustomer(request))
+                .expectError(ResourceValidationException.class)
+                .verify();
+        verifyNoInteractions(passwordEncoder, customerR2dbcDataAccessService);
+    }
+
+    @Test
+    void insertCustomerWithTakenEmailThrowsBeforeHashing() {
+
+        // Given
+        CustomerRegisterRequest request = new CustomerRegisterRequest(
+                "Islam", "Password@123", "islam@gmail.com", 26, "Male");
+        when(customerR2dbcDataAccessService.userEmailExists("islam@gmail.com")).thenReturn(Mono.just(true));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.insertCustomer(request))
+                .expectError(ResourceDuplicationException.class)
+                .verify();
+        verify(passwordEncoder, never()).encode(any());
+        verify(customerR2dbcDataAccessService, never()).insertCustomer(any());
+    }
+
+    @Test
+    void insertCustomerWithEmailTakenConcurrentlyThrows() {
+
+        // Given
+        CustomerRegisterRequest request = new CustomerRegisterRequest(
+                "Islam", "Password@123", "islam@gmail.com", 26, "Male");
+        when(customerR2dbcDataAccessService.userEmailExists("islam@gmail.com")).thenReturn(Mono.just(false));
+        when(passwordEncoder.encode("Password@123")).thenReturn("{bcrypt}hash");
+        when(customerR2dbcDataAccessService.insertCustomer(any()))
+                .thenReturn(Mono.error(new DuplicateKeyException("customer_email_unique")));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.insertCustomer(request))
+                .expectError(ResourceDuplicationException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteCustomerInvalidatesPrincipal() {
+
+        // Given
+        when(customerR2dbcDataAccessService.deleteCustomerById(1L)).thenReturn(Mono.just("islam@gmail.com"));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.deleteCustomer(1L))
+                .verifyComplete();
+        verify(customerPrincipalCache).invalidate("islam@gmail.com");
+    }
+
+    @Test
+    void deleteCustomerThrowsWhenMissing() {
+
+        // Given
+        when(customerR2dbcDataAccessService.deleteCustomerById(1L)).thenReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(underTest.deleteCustomer(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verifyNoInteractions(customerPrincipalCache);
+    }
+
+    @Test
+    void updateCustomerWithoutChangesThrows() {
+
+        // When
+        // Then
+        StepVerifier.create(underTest.updateCustomer(1L, new CustomerUpdateRequest(null, null, null)))
+                .expectErrorMessage("No Data Changes")
+                .verify();
+        verifyNoInteractions(customerR2dbcDataAccessService);
+    }
+
+    @Test
+    void updateCustomerWithTakenEmailThrows() {
+
+        // Given
+        when(customerR2dbcDataAccessService.updateCustomer(any()))
+                .thenReturn(Mono.error(new DuplicateKeyException("customer_email_unique")));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.updateCustomer(1L, new CustomerUpdateRequest(null, "taken@gmail.com", null)))
+                .expectError(ResourceDuplicationException.class)
+                .verify();
+    }
+
+    @Test
+    void updateCustomerInvalidatesPrincipal() {
+
+        // Given
+        when(customerR2dbcDataAccessService.updateCustomer(any())).thenReturn(Mono.just("islam@gmail.com"));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.updateCustomer(1L, new CustomerUpdateRequest("Islam", null, 30)))
+                .verifyComplete();
+
+        ArgumentCaptor<CustomerModel> captor = ArgumentCaptor.forClass(CustomerModel.class);
+        verify(customerR2dbcDataAccessService).updateCustomer(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo(1L);
+        assertThat(captor.getValue().getEmail()).isNull();
+        verify(customerPrincipalCache).invalidate("islam@gmail.com", null);
+    }
+
+    @Test
+    void updateCustomerEmailInvalidatesPreviousAndNewEmail() {
+
+        // Given
+        when(customerR2dbcDataAccessService.updateCustomer(any())).thenReturn(Mono.just("islam@gmail.com"));
+
+        // When
+        // Then
+        StepVerifier.create(underTest.updateCustomer(1L, new CustomerUpdateRequest(null, "new.islam@gmail.com", null)))
+                .verifyComplete();
+        verify(customerPrincipalCache).invalidate("islam@gmail.com", "new.islam@gmail.com");
+    }
+
+    @Test
+    void updateCustomerThrowsWhenMissing() {
+
+        // Given
+        when(customerR2dbcDataAccessService.updateCustomer(any())).thenReturn(Mono.empty());
+
+        // When
+        // Then
+        StepVerifier.create(underTest.updateCustomer(1L, new CustomerUpdateRequest("Islam", null, null)))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verifyNoInteractions(customerPrincipalCache);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.springbootexample.journey;
+
+import com.example.springbootexample.customer.CustomerRegisterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+public class ActuatorIT {
+
+    private static final String BASE_URI = "/api/v1/customers";
+    private static final String PROMETHEUS_URI = "/actuator/prometheus";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private WebTestClient managementClient;
+
+    @BeforeEach
+    void setUp() {
+        managementClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + managementPort)
+                .build();
+    }
+
+    @Test
+    void prometheusCanBeScrapedWithoutCustomerToken() {
+
+        // Given
+        registerCustomer();
+
+        // When
+        String scrape = managementClient.get()
+                .uri(PROMETHEUS_URI)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertThat(scrape).contains("customer_dao_calls_seconds_count");
+    }
+
+    @Test
+    void actuatorIsNotServedOnTheApplicationPort() {
+
+        // Given
+        String jwtToken = registerCustomer();
+
+        // When
+        // Then
+        webTestClient.get()
+                .uri(PROMETHEUS_URI)
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+        webTestClient.get()
+                .uri(PROMETHEUS_URI)
+                .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", jwtToken))
+                .exchange()
+                .expectStatus()
+                .is4xxClientError();
+    }
+
+    private String registerCustomer() {
+        CustomerRegisterRequest customerRegisterRequest = new CustomerRegisterRequest(
+                "Actuator Test",
+                "P@ssW0rd",
+                "actuator-" + UUID.randomUUID() + "@Hendy.com",
+                30,
+                "Male"
+        );
+
+        return webTestClient.post()
+                .uri(BASE_URI)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(customerRegisterRequest), CustomerRegisterRequest.class)
+                .exchange()
+                .expectStatus()
+                .isCreated()
+                .returnResult(Void.class)
+                .getResponseHeaders()
+                .get(HttpHeaders.AUTHORIZATION)
+                .get(0);
+    }
+}
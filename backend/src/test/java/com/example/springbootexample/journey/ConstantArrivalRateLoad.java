@@ -0,0 +1,227 @@
+package com.example.springbootexample.journey;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/*
+ * Open-model load generator: requests start on a fixed schedule of ratePerSecond whether or not
+ * earlier ones have completed, so a slow server builds a queue instead of slowing the load down.
+ * Latency is measured from the scheduled start, not the actual send, so generator stalls and
+ * queueing count against the server (no coordinated omission).
+ * Each arrival picks an operation by weight from a seeded Random, so runs replay the same mix.
+ * Requests still outstanding after load.drain-timeout are cancelled and reported as timeouts,
+ * which count as errors, and the summary flags the run as not drained.
+ */
+class ConstantArrivalRateLoad {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final Duration DRAIN_TIMEOUT = Duration.parse(System.getProperty("load.drain-timeout", "PT30S"));
+
+    private final HttpClient httpClient;
+    private final double ratePerSecond;
+    private final List<Operation> operations;
+    private final int totalWeight;
+    private final Random random;
+
+    ConstantArrivalRateLoad(HttpClient httpClient, double ratePerSecond, List<Operation> operations, Random random) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive but was %S".formatted(ratePerSecond));
+        }
+        this.httpClient = httpClient;
+        this.ratePerSecond = ratePerSecond;
+        this.operations = operations.stream().filter(operation -> operation.weight() > 0).toList();
+        this.totalWeight = this.operations.stream().mapToInt(Operation::weight).sum();
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("Load mix has no operation with a positive weight");
+        }
+        this.random = random;
+    }
+
+    Report run(Duration duration) throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Map<Operation, OperationMeters> meters = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            meters.put(operation, new OperationMeters(
+                    Timer.builder("load." + operation.name())
+                            .publishPercentiles(PERCENTILES)
+                            .distributionStatisticExpiry(duration.plus(DRAIN_TIMEOUT).plusMinutes(1))
+                            .register(meterRegistry),
+                    new AtomicLong(),
+                    new AtomicLong()));
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long arrivals = duration.toNanos() / intervalNanos;
+        List<InFlight> inFlight = new ArrayList<>((int) Math.min(arrivals, Integer.MAX_VALUE));
+        long start = System.nanoTime();
+
+        for (long i = 0; i < arrivals; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = nextOperation();
+            OperationMeters operationMeters = meters.get(operation);
+            AtomicBoolean settled = new AtomicBoolean();
+            CompletableFuture<HttpResponse<Void>> response =
+                    httpClient.sendAsync(operation.request().get(), HttpResponse.BodyHandlers.discarding());
+            CompletableFuture<?> recorded = response.handle((completed, throwable) -> {
+                // the drain timeout may already have counted this request
+                if (!settled.compareAndSet(false, true)) {
+                    return null;
+                }
+                if (throwable != null || completed.statusCode() != operation.expectedStatus()) {
+                    operationMeters.errors().incrementAndGet();
+                } else {
+                    operationMeters.timer().record(System.nanoTime() - scheduled, TimeUnit.NANOSECONDS);
+                }
+                return null;
+            });
+            inFlight.add(new InFlight(operationMeters, settled, response, recorded));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.stream().map(InFlight::recorded).toArray(CompletableFuture[]::new))
+                    .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            for (InFlight request : inFlight) {
+                if (request.settled().compareAndSet(false, true)) {
+                    request.meters().timeouts().incrementAndGet();
+                    request.response().cancel(true);
+                }
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<OperationReport> reports = meters.entrySet().stream()
+                .map(entry -> OperationReport.of(entry.getKey().name(), entry.getValue(), elapsed))
+                .toList();
+        return new Report(ratePerSecond, elapsed, reports);
+    }
+
+    private Operation nextOperation() {
+        int pick = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            pick -= operation.weight();
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+
+    /**
+     * Parses a mix like {@code register:5,login:10,get:50} into operation weights.
+     */
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Load mix entry [%S] is not name:weight".formatted(entry));
+            }
+            weights.put(nameAndWeight[0].trim(), Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    record Operation(String name, int weight, int expectedStatus, Supplier<HttpRequest> request) {
+    }
+
+    private record OperationMeters(Timer timer, AtomicLong errors, AtomicLong timeouts) {
+    }
+
+    private record InFlight(OperationMeters meters, AtomicBoolean settled,
+                            CompletableFuture<?> response, CompletableFuture<?> recorded) {
+    }
+
+    /**
+     * errors includes the timeouts, requests still outstanding when the run stopped draining.
+     */
+    record OperationReport(String name, long requests, long errors, long timeouts, double throughput,
+                           Duration p50, Duration p95, Duration p99) {
+
+        private static OperationReport of(String name, OperationMeters meters, Duration elapsed) {
+            Timer timer = meters.timer();
+            ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+            long timeouts = meters.timeouts().get();
+            long errors = meters.errors().get() + timeouts;
+            return new OperationReport(
+                    name,
+                    timer.count() + errors,
+                    errors,
+                    timeouts,
+                    timer.count() / (elapsed.toNanos() / 1e9),
+                    percentile(percentiles, 0),
+                    percentile(percentiles, 1),
+                    percentile(percentiles, 2)
+            );
+        }
+
+        private static Duration percentile(ValueAtPercentile[] percentiles, int index) {
+            return Duration.ofNanos((long) percentiles[index].value(TimeUnit.NANOSECONDS));
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : errors / (double) requests;
+        }
+    }
+
+    record Report(double targetRate, Duration elapsed, List<OperationReport> operations) {
+
+        double throughput() {
+            return operations.stream().mapToDouble(OperationReport::throughput).sum();
+        }
+
+        double errorRate() {
+            long requests = operations.stream().mapToLong(OperationReport::requests).sum();
+            long errors = operations.stream().mapToLong(OperationReport::errors).sum();
+            return requests == 0 ? 0 : errors / (double) requests;
+        }
+
+        long timeouts() {
+            return operations.stream().mapToLong(OperationReport::timeouts).sum();
+        }
+
+        void print() {
+            if (timeouts() > 0) {
+                System.out.printf("NOT DRAINED: %d requests were still outstanding after %s and are counted as errors%n",
+                        timeouts(), DRAIN_TIMEOUT);
+            }
+            System.out.printf("target=%.1f req/s throughput=%.1f req/s errors=%.2f%% timeouts=%d elapsed=%s%n",
+                    targetRate, throughput(), errorRate() * 100, timeouts(), elapsed);
+            for (OperationReport operation : operations) {
+                System.out.printf("%-8s requests=%d errors=%d (%.2f%%) timeouts=%d throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms%n",
+                        operation.name(),
+                        operation.requests(),
+                        operation.errors(),
+                        operation.errorRate() * 100,
+                        operation.timeouts(),
+                        operation.throughput(),
+                        operation.p50().toNanos() / 1e6,
+                        operation.p95().toNanos() / 1e6,
+                        operation.p99().toNanos() / 1e6);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.springbootexample.journey;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/*
+ * Load on GET /api/v1/customers/{id}, used to compare the platform-thread and virtual-thread
+ * request modes. It registers load.customers customers through the API, then reads a random
+ * customer with a random customer's token per request, so the id, principal and token caches
+ * all see a spread of keys instead of one hot entry.
+ *
+ * load.model=closed (the default) keeps load.concurrency requests in flight, each on its own
+ * connection, which is the comparison the thread modes are about: how many blocked requests the
+ * server can hold. Latency is measured from each send. load.model=open instead sends load.rate
+ * requests per second through ConstantArrivalRateLoad, for latency at a fixed throughput.
+ *
+ * Start the app twice against the same database and run this once per mode. The cache flags
+ * size the caches below the working set so every request reaches JDBC:
+ *   java -jar target/*.jar                                            (platform threads)
+ *   java -jar target/*.jar --spring.profiles.active=virtual-threads   (Java 21 runtime)
+ *   [--customer.cache.max-size=0 --customer.principal-cache.max-size=0 --jwt.token-cache.enabled=false]
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *           "-Dexec.args=-Dload.concurrency=5000 -cp %classpath com.example.springbootexample.journey.CustomerGetByIdLoadRunner"
+ */
+public class CustomerGetByIdLoadRunner {
+
+    private static final String BASE_URL = System.getProperty("load.base-url", "http://localhost:8080");
+    private static final int CUSTOMERS = Integer.getInteger("load.customers", 1000);
+    // registration hashes passwords on a bounded pool, more at once is rejected with 503
+    private static final int SETUP_CONCURRENCY = Integer.getInteger("load.setup-concurrency", 16);
+    private static final String MODEL = System.getProperty("load.model", "closed");
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 5000);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "2000"));
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("load.timeout", "PT30S"));
+
+    public static void main(String[] args) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.println("Registering " + CUSTOMERS + " customers");
+        List<RegisteredCustomer> customers = register(httpClient);
+
+        Random random = new Random(SEED);
+        Supplier<HttpRequest> getCustomer = () -> HttpRequest
+                .newBuilder(customers.get(random.nextInt(customers.size())).uri())
+                .header("Authorization", "Bearer " + customers.get(random.nextInt(customers.size())).token())
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+
+        switch (MODEL) {
+            case "closed" -> {
+                System.out.println("Warming up for " + WARMUP + " with " + CONCURRENCY + " connections");
+                runClosed(httpClient, getCustomer, WARMUP);
+                System.out.println("Measuring for " + DURATION);
+                ConstantArrivalRateLoad.OperationReport report = runClosed(httpClient, getCustomer, DURATION);
+                System.out.printf("concurrency=%d requests=%d errors=%d (%.2f%%) throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms%n",
+                        CONCURRENCY,
+                        report.requests(),
+                        report.errors(),
+                        report.errorRate() * 100,
+                        report.throughput(),
+                        report.p50().toNanos() / 1e6,
+                        report.p95().toNanos() / 1e6,
+                        report.p99().toNanos() / 1e6);
+            }
+            case "open" -> {
+                ConstantArrivalRateLoad load = new ConstantArrivalRateLoad(httpClient, RATE, List.of(
+                        new ConstantArrivalRateLoad.Operation("get", 1, 200, getCustomer)), random);
+                System.out.println("Warming up for " + WARMUP + " at " + RATE + " req/s");
+                load.run(WARMUP);
+                System.out.println("Measuring for " + DURATION);
+                load.run(DURATION).print();
+            }
+            default -> throw new IllegalArgumentException("load.model must be closed or open but was %S".formatted(MODEL));
+        }
+    }
+
+    private static ConstantArrivalRateLoad.OperationReport runClosed(HttpClient httpClient, Supplier<HttpRequest> request,
+                                                                     Duration duration) throws InterruptedException {
+        Timer timer = Timer.builder("load.get")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticExpiry(duration.plus(TIMEOUT).plusMinutes(1))
+                .register(new SimpleMeterRegistry());
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(CONCURRENCY);
+
+        // the supplier's Random is not thread-safe and completions run on the client's threads
+        Supplier<HttpRequest> nextRequest = () -> {
+            synchronized (request) {
+                return request.get();
+            }
+        };
+        for (int i = 0; i < CONCURRENCY; i++) {
+            sendNext(httpClient, nextRequest, deadline, timer, errors, finished);
+        }
+        finished.await();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+        return new ConstantArrivalRateLoad.OperationReport(
+                "get",
+                timer.count() + errors.get(),
+                errors.get(),
+                0,
+                timer.count() / (elapsed.toNanos() / 1e9),
+                Duration.ofNanos((long) percentiles[0].value(TimeUnit.NANOSECONDS)),
+                Duration.ofNanos((long) percentiles[1].value(TimeUnit.NANOSECONDS)),
+                Duration.ofNanos((long) percentiles[2].value(TimeUnit.NANOSECONDS)));
+    }
+
+    private static void sendNext(HttpClient httpClient, Supplier<HttpRequest> request, long deadline,
+                                 Timer timer, AtomicLong errors, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+
+        long start = System.nanoTime();
+        httpClient.sendAsync(request.get(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    sendNext(httpClient, request, deadline, timer, errors, finished);
+                });
+    }
+
+    private static List<RegisteredCustomer> register(HttpClient httpClient) {
+        List<RegisteredCustomer> customers = new ArrayList<>(CUSTOMERS);
+        for (int batch = 0; batch < CUSTOMERS; batch += SETUP_CONCURRENCY) {
+            List<CompletableFuture<HttpResponse<Void>>> responses = IntStream
+                    .range(batch, Math.min(batch + SETUP_CONCURRENCY, CUSTOMERS))
+                    .mapToObj(i -> httpClient.sendAsync(registration(), HttpResponse.BodyHandlers.discarding()))
+                    .toList();
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                customers.add(RegisteredCustomer.of(response.join()));
+            }
+        }
+        return customers;
+    }
+
+    private static HttpRequest registration() {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + "/api/v1/customers"))
+                .header("Content-Type", "application/json")
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name": "Load Test", "password": "P@ssW0rd", "email": "load-%s@example.com", "age": 30, "gender": "Male"}
+                        """.formatted(UUID.randomUUID())))
+                .build();
+    }
+
+    private record RegisteredCustomer(URI uri, String token) {
+
+        private static RegisteredCustomer of(HttpResponse<Void> registered) {
+            if (registered.statusCode() != 201) {
+                throw new IllegalStateException("Registration failed with status %S".formatted(registered.statusCode()));
+            }
+            return new RegisteredCustomer(
+                    URI.create(registered.headers().firstValue("Location").orElseThrow()),
+                    registered.headers().firstValue("Authorization").orElseThrow());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.springbootexample.journey;
 
 import com.example.springbootexample.customer.CustomerModelDTO;
+import com.example.springbootexample.customer.CustomerPage;
 import com.example.springbootexample.customer.CustomerRegisterRequest;
 import com.example.springbootexample.customer.CustomerUpdateRequest;
 import com.github.javafaker.Faker;
@@ -14,7 +15,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 
@@ -63,17 +66,7 @@ public class CustomerIT {
                 .get(0);
 
         // Get all customers
-        final List<CustomerModelDTO> allCustomers = webTestClient.get()
-                .uri(BASE_URI)
-                .accept(MediaType.APPLICATION_JSON)
-                .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", jwtToken))
-                .exchange()
-                .expectStatus()
-                .isOk()
-                .expectBodyList(new ParameterizedTypeReference<CustomerModelDTO>() {
-                })
-                .returnResult()
-                .getResponseBody();
+        final List<CustomerModelDTO> allCustomers = getAllCustomers(jwtToken);
 
 
         // Get customer by id
@@ -164,17 +157,7 @@ public class CustomerIT {
                 .get(0);
 
         // Get all customers
-        final List<CustomerModelDTO> allCustomers = webTestClient.get()
-                .uri(BASE_URI)
-                .accept(MediaType.APPLICATION_JSON)
-                .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", jwtToken))
-                .exchange()
-                .expectStatus()
-                .isOk()
-                .expectBodyList(new ParameterizedTypeReference<CustomerModelDTO>() {
-                })
-                .returnResult()
-                .getResponseBody();
+        final List<CustomerModelDTO> allCustomers = getAllCustomers(jwtToken);
 
 
         // Get customer by id
@@ -237,17 +220,7 @@ public class CustomerIT {
                 .get(0);
 
         // Get all customers
-        final List<CustomerModelDTO> allCustomers = webTestClient.get()
-                .uri(BASE_URI)
-                .accept(MediaType.APPLICATION_JSON)
-                .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", jwtToken))
-                .exchange()
-                .expectStatus()
-                .isOk()
-                .expectBodyList(new ParameterizedTypeReference<CustomerModelDTO>() {
-                })
-                .returnResult()
-                .getResponseBody();
+        final List<CustomerModelDTO> allCustomers = getAllCustomers(jwtToken);
 
 
         // Get customer by id
@@ -293,4 +266,32 @@ public class CustomerIT {
 
         assertThat(updatedCustomer).isEqualTo(expected);
     }
+
+    private List<CustomerModelDTO> getAllCustomers(String jwtToken) {
+
+        List<CustomerModelDTO> allCustomers = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            String pageCursor = cursor;
+            CustomerPage page = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path(BASE_URI)
+                            .queryParamIfPresent("cursor", Optional.ofNullable(pageCursor))
+                            .build())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", jwtToken))
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody(CustomerPage.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assert page != null;
+            allCustomers.addAll(page.customers());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        return allCustomers;
+    }
 }
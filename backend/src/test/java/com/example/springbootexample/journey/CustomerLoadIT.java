@@ -0,0 +1,191 @@
+package com.example.springbootexample.journey;
+
+import com.example.springbootexample.AbstractTestContainer;
+import com.example.springbootexample.jwt.JWTUtil;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/*
+ * Open-model load on the customer API through the full security filter chain, against a
+ * Testcontainers Postgres seeded with load.customers customers. Requests arrive at load.rate
+ * per second in the load.mix proportions, first for load.warmup (discarded) and then for
+ * load.duration. Prints throughput, p50/p95/p99 and error rates per operation and fails when
+ * an operation breaks the load.slo.* thresholds.
+ *
+ * Run with: mvn verify -Dit.test=CustomerLoadIT -Dload.enabled=true
+ *           -Dspring-boot.run.skip=true -Dspring-boot.stop.skip=true
+ *           [-Dload.rate=200 -Dload.mix=register:5,login:10,get:50,list:20,update:15 -Dload.slo.p99=PT0.5S]
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        // seeded hashes use this strength; calibrating per machine would make runs incomparable
+        "security.password.bcrypt.strength=" + CustomerLoadIT.BCRYPT_STRENGTH
+})
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+public class CustomerLoadIT extends AbstractTestContainer {
+
+    static final int BCRYPT_STRENGTH = 10;
+
+    private static final String BASE_URI = "/api/v1/customers";
+    private static final String AUTH_URI = "/api/v1/auth";
+    private static final String PASSWORD = "P@ssW0rd";
+
+    private static final int CUSTOMERS = Integer.getInteger("load.customers", 10000);
+    private static final int TOKENS = Integer.getInteger("load.tokens", 100);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "100"));
+    private static final String MIX = System.getProperty("load.mix", "register:5,login:10,get:50,list:20,update:15");
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("load.timeout", "PT5S"));
+
+    private static final Duration SLO_P95 = Duration.parse(System.getProperty("load.slo.p95", "PT0.25S"));
+    private static final Duration SLO_P99 = Duration.parse(System.getProperty("load.slo.p99", "PT0.5S"));
+    private static final double SLO_ERROR_RATE = Double.parseDouble(System.getProperty("load.slo.error-rate", "0.01"));
+    private static final double SLO_THROUGHPUT_RATIO = Double.parseDouble(System.getProperty("load.slo.throughput-ratio", "0.95"));
+
+    private static List<Long> customerIds;
+    private static List<String> customerEmails;
+
+    private final Random random = new Random(SEED);
+    private final List<String> tokens = new ArrayList<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    @BeforeAll
+    static void seedCustomers() {
+        // one hash for everyone, hashing N passwords would dominate the setup
+        String password = "{bcrypt}" + new BCryptPasswordEncoder(BCRYPT_STRENGTH).encode(PASSWORD);
+        customerEmails = IntStream.range(0, CUSTOMERS)
+                .mapToObj("load-%d@example.com"::formatted)
+                .toList();
+        getJDBCTemplate().batchUpdate(
+                "INSERT INTO customer(name, password, email, age, gender) VALUES (?, ?, ?, ?, ?)",
+                customerEmails.stream()
+                        .map(email -> new Object[]{"Load Customer", password, email, 30, "Male"})
+                        .toList());
+        customerIds = getJDBCTemplate().queryForList(
+                "SELECT id FROM customer WHERE email LIKE 'load-%' ORDER BY id", Long.class);
+    }
+
+    @BeforeEach
+    void issueTokens() {
+        for (int i = 0; i < Math.min(TOKENS, customerEmails.size()); i++) {
+            tokens.add(jwtUtil.issueToken(customerEmails.get(i), "ROLE_USER"));
+        }
+    }
+
+    @Test
+    void customerApiMeetsSlosUnderConstantArrivalRate() throws InterruptedException {
+
+        // Given
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Map<String, Integer> weights = ConstantArrivalRateLoad.parseMix(MIX);
+        ConstantArrivalRateLoad load = new ConstantArrivalRateLoad(httpClient, RATE, List.of(
+                operation(weights, "register", 201, this::register),
+                operation(weights, "login", 200, this::login),
+                operation(weights, "get", 200, this::getCustomer),
+                operation(weights, "list", 200, this::listCustomers),
+                operation(weights, "update", 200, this::updateCustomer)
+        ), random);
+
+        // When
+        System.out.println("Warming up for " + WARMUP + " at " + RATE + " req/s, mix " + MIX);
+        load.run(WARMUP);
+        System.out.println("Measuring for " + DURATION);
+        ConstantArrivalRateLoad.Report report = load.run(DURATION);
+        report.print();
+
+        // Then
+        SoftAssertions softly = new SoftAssertions();
+        for (ConstantArrivalRateLoad.OperationReport operation : report.operations()) {
+            softly.assertThat(operation.errorRate()).as("%s error rate", operation.name()).isLessThanOrEqualTo(SLO_ERROR_RATE);
+            softly.assertThat(operation.p95()).as("%s p95", operation.name()).isLessThanOrEqualTo(SLO_P95);
+            softly.assertThat(operation.p99()).as("%s p99", operation.name()).isLessThanOrEqualTo(SLO_P99);
+        }
+        softly.assertThat(report.timeouts()).as("requests outstanding after the drain timeout").isZero();
+        softly.assertThat(report.throughput()).as("throughput").isGreaterThanOrEqualTo(RATE * SLO_THROUGHPUT_RATIO);
+        softly.assertAll();
+    }
+
+    private static ConstantArrivalRateLoad.Operation operation(Map<String, Integer> weights, String name,
+                                                               int expectedStatus, Supplier<HttpRequest> request) {
+        return new ConstantArrivalRateLoad.Operation(name, weights.getOrDefault(name, 0), expectedStatus, request);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(TIMEOUT);
+    }
+
+    private HttpRequest.Builder authorizedRequest(String path) {
+        return request(path).header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+    }
+
+    private HttpRequest register() {
+        return request(BASE_URI)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name": "Load Test", "password": "%s", "email": "register-%s@example.com", "age": 30, "gender": "Male"}
+                        """.formatted(PASSWORD, UUID.randomUUID())))
+                .build();
+    }
+
+    private HttpRequest login() {
+        return request(AUTH_URI)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"userName": "%s", "password": "%s"}
+                        """.formatted(customerEmails.get(random.nextInt(customerEmails.size())), PASSWORD)))
+                .build();
+    }
+
+    private HttpRequest getCustomer() {
+        return authorizedRequest(BASE_URI + "/" + customerIds.get(random.nextInt(customerIds.size())))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest listCustomers() {
+        return authorizedRequest(BASE_URI + "?size=50")
+                .GET()
+                .build();
+    }
+
+    // a fresh name every time, an unchanged customer is rejected with "No Data Changes"
+    private HttpRequest updateCustomer() {
+        return authorizedRequest(BASE_URI + "/" + customerIds.get(random.nextInt(customerIds.size())))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("""
+                        {"name": "Load %s"}
+                        """.formatted(UUID.randomUUID())))
+                .build();
+    }
+}
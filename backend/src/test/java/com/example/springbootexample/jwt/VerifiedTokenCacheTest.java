@@ -0,0 +1,69 @@
+package com.example.springbootexample.jwt;
+
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private final JWTUtil jwtUtil = spy(new JWTUtil());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void verifiesEachTokenOnlyOnce() {
+
+        // Given
+        VerifiedTokenCache underTest = new VerifiedTokenCache(jwtUtil, meterRegistry, true, 100, Duration.ofMinutes(10));
+        String token = jwtUtil.issueToken("islam@gmail.com", "ROLE_USER");
+
+        // When
+        VerifiedToken first = underTest.verify(token);
+        VerifiedToken second = underTest.verify(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.subject()).isEqualTo("islam@gmail.com");
+        assertThat(first.scopes()).containsExactly("ROLE_USER");
+        verify(jwtUtil, times(1)).verify(token);
+        assertThat(meterRegistry.get("jwt.token.cache.hit.rate").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void tamperedTokenIsNeverTrusted() {
+
+        // Given
+        VerifiedTokenCache underTest = new VerifiedTokenCache(jwtUtil, meterRegistry, true, 100, Duration.ofMinutes(10));
+        String token = jwtUtil.issueToken("islam@gmail.com", "ROLE_USER");
+        underTest.verify(token);
+
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1)
+                + (signature.charAt(0) == 'A' ? 'B' : 'A') + signature.substring(1);
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.verify(tampered))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void verifiesEveryCallWhenDisabled() {
+
+        // Given
+        VerifiedTokenCache underTest = new VerifiedTokenCache(jwtUtil, meterRegistry, false, 100, Duration.ofMinutes(10));
+        String token = jwtUtil.issueToken("islam@gmail.com", "ROLE_USER");
+
+        // When
+        underTest.verify(token);
+        underTest.verify(token);
+
+        // Then
+        verify(jwtUtil, times(2)).verify(token);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.springbootexample.security;
+
+import com.example.springbootexample.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder underTest;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        underTest.close();
+    }
+
+    @Test
+    void delegatesToWrappedEncoder() {
+
+        // Given
+        underTest = new BoundedPasswordEncoder(NoOpPasswordEncoder.getInstance(), 1, 1, meterRegistry);
+
+        // When
+        String encoded = underTest.encode("P@ssW0rd");
+
+        // Then
+        assertThat(encoded).isEqualTo("P@ssW0rd");
+        assertThat(underTest.matches("P@ssW0rd", encoded)).isTrue();
+        assertThat(meterRegistry.get("executor").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+
+        // Given
+        underTest = new BoundedPasswordEncoder(new BlockingPasswordEncoder(release), 1, 1, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> underTest.encode("first"));
+        awaitGauge("executor.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> underTest.encode("second"));
+        awaitGauge("executor.queued", 1);
+
+        // When
+        // Then
+        assertThatThrownBy(() -> underTest.encode("third"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get("executor.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private record BlockingPasswordEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
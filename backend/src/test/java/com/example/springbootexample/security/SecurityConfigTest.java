@@ -0,0 +1,78 @@
+package com.example.springbootexample.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityConfigTest {
+
+    @Test
+    void passwordEncoderMatchesLegacyBCryptHashesAndUpgradesThem() {
+
+        // Given
+        PasswordEncoder passwordEncoder = SecurityConfig.bcryptPasswordEncoder(5, 4, Duration.ofMillis(250));
+        String legacyHash = new BCryptPasswordEncoder(4).encode("P@ssW0rd");
+
+        // When
+        boolean matches = passwordEncoder.matches("P@ssW0rd", legacyHash);
+        boolean upgrade = passwordEncoder.upgradeEncoding(legacyHash);
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(upgrade).isTrue();
+    }
+
+    @Test
+    void passwordEncoderDoesNotUpgradeCurrentHashes() {
+
+        // Given
+        PasswordEncoder passwordEncoder = SecurityConfig.bcryptPasswordEncoder(5, 4, Duration.ofMillis(250));
+
+        // When
+        String encoded = passwordEncoder.encode("P@ssW0rd");
+
+        // Then
+        assertThat(encoded).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches("P@ssW0rd", encoded)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    void passwordEncoderUpgradesHashesWithLowerStrength() {
+
+        // Given
+        PasswordEncoder weak = SecurityConfig.bcryptPasswordEncoder(4, 4, Duration.ofMillis(250));
+        PasswordEncoder strong = SecurityConfig.bcryptPasswordEncoder(5, 4, Duration.ofMillis(250));
+
+        // When
+        String encoded = weak.encode("P@ssW0rd");
+
+        // Then
+        assertThat(strong.matches("P@ssW0rd", encoded)).isTrue();
+        assertThat(strong.upgradeEncoding(encoded)).isTrue();
+    }
+
+    @Test
+    void calibrationNeverGoesBelowMinStrength() {
+
+        // When
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4);
+
+        // Then
+        assertThat(strength).isEqualTo(4);
+    }
+
+    @Test
+    void calibrationNeverGoesAboveMaxStrength() {
+
+        // When
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofDays(1), 4);
+
+        // Then
+        assertThat(strength).isEqualTo(BCryptStrengthCalibrator.MAX_STRENGTH);
+    }
+}